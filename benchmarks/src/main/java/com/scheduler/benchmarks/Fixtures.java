@@ -0,0 +1,79 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import com.scheduler.model.Instance;
+import com.scheduler.parser.Parser;
+
+/*
+ * Locates the input files used by the benchmarks.
+ */
+public final class Fixtures {
+
+    /*
+     * The weights and penalties every benchmark instance is parsed with.
+     */
+    public static final int[] WEIGHTS = {1, 1, 1, 1, 10, 10, 10, 10};
+
+    /*
+     * The seed of every random number generator used by the benchmarks, so runs can be compared.
+     */
+    public static final long SEED = 433;
+
+    private Fixtures() {
+    }
+
+    /*
+     * Returns the input file with the given name.
+     *
+     * The file is looked up first in the working directory and its parents (where the large inputs live),
+     * and then on the classpath (where the hc*.txt fixtures are packaged with the scheduler).
+     *
+     * @param name the file name of the input
+     * @returns the input file
+     * @throws IOException if the file can't be found
+     */
+    public static File file(String name) throws IOException {
+
+        for (File dir = new File(System.getProperty("user.dir")).getAbsoluteFile(); dir != null; dir = dir.getParentFile()) {
+            File file = new File(dir, name);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+
+        try (InputStream in = Fixtures.class.getResourceAsStream("/" + name)) {
+
+            if (in == null) {
+                throw new IOException("Benchmark input " + name + " not found in the working directory or on the classpath.");
+            }
+
+            File copy = File.createTempFile("scheduler-", "-" + name);
+            copy.deleteOnExit();
+            Files.copy(in, copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            return copy;
+        }
+    }
+
+    /*
+     * Parses the input file with the given name.
+     *
+     * @param name the file name of the input
+     * @returns the parsed instance
+     * @throws Exception if the file can't be found or parsed
+     */
+    public static Instance instance(String name) throws Exception {
+        return Parser.parseFile(file(name), WEIGHTS[0], WEIGHTS[1], WEIGHTS[2], WEIGHTS[3], WEIGHTS[4], WEIGHTS[5], WEIGHTS[6], WEIGHTS[7]);
+    }
+}
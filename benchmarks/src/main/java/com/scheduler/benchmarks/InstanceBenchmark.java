@@ -0,0 +1,101 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.InstanceBuilder;
+import com.scheduler.model.Slot;
+
+/*
+ * Measures how long it takes to add every slot and event of an input file to an empty InstanceBuilder and
+ * build the Instance, which includes working out the incompatibilities between events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstanceBenchmark {
+
+    @Param({
+        "CPSC433F24-LargeInput1.txt", "CPSC433F24-LargeInput2.txt",
+        "hc1.txt", "hc2.txt", "hc3.txt", "hc4.txt", "hc5.txt", "hc6.txt",
+        "hc7.txt", "hc8.txt", "hc9.txt", "hc10.txt", "hc11.txt", "hc12.txt"
+    })
+    public String input;
+
+    // The fields of every slot, as the slots of the fixture instance can't be added to another builder
+
+    private final List<Boolean> slotIsGame = new ArrayList<>();
+
+    private final List<String> slotDays = new ArrayList<>();
+
+    private final List<String> slotStartTimes = new ArrayList<>();
+
+    private final List<int[]> slotLimits = new ArrayList<>();
+
+    private final List<String> eventIds = new ArrayList<>();
+
+    private final List<Boolean> eventIsGame = new ArrayList<>();
+
+    @Setup
+    public void setup() throws Exception {
+
+        Instance instance = Fixtures.instance(input);
+
+        for (Slot slot : instance.getSlots().values()) {
+            slotIsGame.add(slot.isGameSlot());
+            slotDays.add(slot.getDay());
+            slotStartTimes.add(slot.getId().split(" ")[1]);
+            slotLimits.add(new int[] {slot.getMax(), slot.getMin()});
+        }
+
+        // Special practices are added by the builder itself
+        for (Event event : instance.getEvents().values()) {
+            if (!event.isSpecialPractice()) {
+                eventIds.add(event.getId());
+                eventIsGame.add(event.isGame());
+            }
+        }
+    }
+
+    @Benchmark
+    public Instance build() throws Exception {
+
+        int[] w = Fixtures.WEIGHTS;
+        InstanceBuilder builder = new InstanceBuilder(w[0], w[1], w[2], w[3], w[4], w[5], w[6], w[7]);
+
+        for (int i = 0; i < slotDays.size(); i++) {
+            int[] limits = slotLimits.get(i);
+            builder.addSlot(new Slot(slotIsGame.get(i), slotDays.get(i), slotStartTimes.get(i), limits[0], limits[1]));
+        }
+
+        for (int i = 0; i < eventIds.size(); i++) {
+            builder.addEvent(new Event(eventIds.get(i), eventIsGame.get(i)));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.scheduler.model.Instance;
+import com.scheduler.model.InstanceSnapshot;
+import com.scheduler.parser.MappedParser;
+import com.scheduler.parser.Parser;
+
+/*
+ * Measures how long it takes to parse an input file into an Instance, with the line-by-line and the memory-mapped parser,
+ * and how long it takes to load the same Instance from a snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({
+        "CPSC433F24-LargeInput1.txt", "CPSC433F24-LargeInput2.txt",
+        "hc1.txt", "hc2.txt", "hc3.txt", "hc4.txt", "hc5.txt", "hc6.txt",
+        "hc7.txt", "hc8.txt", "hc9.txt", "hc10.txt", "hc11.txt", "hc12.txt"
+    })
+    public String input;
+
+    private File file;
+
+    private File snapshot;
+
+    @Setup
+    public void setup() throws Exception {
+        file = Fixtures.file(input);
+
+        snapshot = File.createTempFile("scheduler-", ".snapshot");
+        snapshot.deleteOnExit();
+        InstanceSnapshot.write(Fixtures.instance(input), file, snapshot);
+    }
+
+    @Benchmark
+    public Instance parseFile() throws Exception {
+        int[] w = Fixtures.WEIGHTS;
+        return Parser.parseFile(file, w[0], w[1], w[2], w[3], w[4], w[5], w[6], w[7]);
+    }
+
+    @Benchmark
+    public Instance parseFileMapped() throws Exception {
+        int[] w = Fixtures.WEIGHTS;
+        return MappedParser.parseFile(file, w[0], w[1], w[2], w[3], w[4], w[5], w[6], w[7]);
+    }
+
+    @Benchmark
+    public Instance loadSnapshot() throws Exception {
+        int[] w = Fixtures.WEIGHTS;
+        return InstanceSnapshot.read(snapshot, file, w[0], w[1], w[2], w[3], w[4], w[5], w[6], w[7]);
+    }
+}
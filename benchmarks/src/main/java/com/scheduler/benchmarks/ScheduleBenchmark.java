@@ -0,0 +1,111 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.model.Slot;
+import com.scheduler.search.ORTree;
+
+/*
+ * Measures the Schedule operations used inside the searches, on a complete schedule.
+ * Only the large inputs are used, as none of the hc*.txt fixtures have a valid schedule.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleBenchmark {
+
+    @Param({"CPSC433F24-LargeInput1.txt", "CPSC433F24-LargeInput2.txt"})
+    public String input;
+
+    /*
+     * A complete schedule that has never been evaluated.
+     */
+    private Schedule schedule;
+
+    /*
+     * A complete schedule that has been evaluated, used for incremental evaluation.
+     */
+    private Schedule evaluated;
+
+    private List<Event> events;
+
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+
+        Instance instance = Fixtures.instance(input);
+
+        schedule = new ORTree(instance, null, ORTree.Strategy.FORWARD_CHECKING, new SplittableRandom(Fixtures.SEED)).runSearch();
+
+        evaluated = new Schedule(schedule);
+        evaluated.eval();
+
+        events = new ArrayList<>();
+        for (Event event : instance.getEvents().values()) {
+            if (!instance.isPartiallyAssigned(event)) {
+                events.add(event);
+            }
+        }
+    }
+
+    /*
+     * Returns the next event to use, cycling through all events that can be moved.
+     */
+    private Event nextEvent() {
+        next = (next + 1) % events.size();
+        return events.get(next);
+    }
+
+    @Benchmark
+    public Set<Slot> getCandidateSlots() {
+        return schedule.getCandidateSlots(nextEvent());
+    }
+
+    @Benchmark
+    public int evalFull() {
+        return new Schedule(schedule).eval();
+    }
+
+    @Benchmark
+    public int evalAfterMove() {
+
+        Event event = nextEvent();
+        Slot slot = evaluated.getSlotFromEvent(event);
+
+        // Move the event out and back, so the schedule is unchanged between invocations
+        evaluated.clearAssignment(event);
+        int value = evaluated.eval();
+        evaluated.assign(event, slot, false);
+
+        return value + evaluated.eval();
+    }
+}
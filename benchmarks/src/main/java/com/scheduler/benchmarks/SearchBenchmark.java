@@ -0,0 +1,99 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.search.GeneticAlgorithm;
+import com.scheduler.search.ORTree;
+
+/*
+ * Measures the two searches: generating a single schedule with the ORTree, and a full Genetic Algorithm run.
+ */
+public class SearchBenchmark {
+
+    /*
+     * Generating one schedule from scratch. For the hc*.txt fixtures this measures how long it takes
+     * to find out that there is no valid schedule.
+     */
+    @State(Scope.Benchmark)
+    public static class ORTreeState {
+
+        @Param({
+            "CPSC433F24-LargeInput1.txt", "CPSC433F24-LargeInput2.txt",
+            "hc1.txt", "hc2.txt", "hc3.txt", "hc4.txt", "hc5.txt", "hc6.txt",
+            "hc7.txt", "hc8.txt", "hc9.txt", "hc10.txt", "hc11.txt", "hc12.txt"
+        })
+        public String input;
+
+        Instance instance;
+
+        SplittableRandom random;
+
+        @Setup
+        public void setup() throws Exception {
+            instance = Fixtures.instance(input);
+            random = new SplittableRandom(Fixtures.SEED);
+        }
+    }
+
+    /*
+     * A full Genetic Algorithm run. Only the large inputs are used, as none of the hc*.txt fixtures have a valid schedule.
+     */
+    @State(Scope.Benchmark)
+    public static class GeneticAlgorithmState {
+
+        @Param({"CPSC433F24-LargeInput1.txt", "CPSC433F24-LargeInput2.txt"})
+        public String input;
+
+        Instance instance;
+
+        @Setup
+        public void setup() throws Exception {
+            instance = Fixtures.instance(input);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public Schedule orTreeRunSearch(ORTreeState state) {
+        try {
+            return new ORTree(state.instance, null, ORTree.Strategy.FORWARD_CHECKING, state.random).runSearch();
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public Schedule geneticAlgorithmRunSearch(GeneticAlgorithmState state) {
+        return new GeneticAlgorithm(state.instance, new SplittableRandom(Fixtures.SEED)).runSearch();
+    }
+}
@@ -0,0 +1,84 @@
+package com.scheduler;
+
+import java.util.function.Supplier;
+
+/*
+ * Leveled debug logging to standard error.
+ *
+ * The level is read once from the "scheduler.debug" system property (trace, debug, info or off, default off)
+ * into a static final field. When a level is disabled the JIT removes its calls entirely, so message
+ * strings are never built. Hot call sites pass a Supplier so the message is only built when it will be printed.
+ *
+ * - trace: individual compatibility and validity checks
+ * - debug: ORTree search progress
+ * - info:  Genetic Algorithm progress
+ */
+public class Debug {
+
+    public static final int TRACE = 0;
+    public static final int DEBUG = 1;
+    public static final int INFO = 2;
+    public static final int OFF = 3;
+
+    /*
+     * The lowest level of message that is printed.
+     */
+    public static final int LEVEL = parseLevel(System.getProperty("scheduler.debug", "off"));
+
+    public static final boolean TRACE_ENABLED = LEVEL <= TRACE;
+    public static final boolean DEBUG_ENABLED = LEVEL <= DEBUG;
+    public static final boolean INFO_ENABLED = LEVEL <= INFO;
+
+    public static void trace(String message) {
+        if (TRACE_ENABLED) {
+            print("TRACE", message);
+        }
+    }
+
+    public static void trace(Supplier<String> message) {
+        if (TRACE_ENABLED) {
+            print("TRACE", message.get());
+        }
+    }
+
+    public static void debug(String message) {
+        if (DEBUG_ENABLED) {
+            print("DEBUG", message);
+        }
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (DEBUG_ENABLED) {
+            print("DEBUG", message.get());
+        }
+    }
+
+    public static void info(String message) {
+        if (INFO_ENABLED) {
+            print("INFO", message);
+        }
+    }
+
+    public static void info(Supplier<String> message) {
+        if (INFO_ENABLED) {
+            print("INFO", message.get());
+        }
+    }
+
+    private static void print(String level, String message) {
+        System.err.println(level + ": " + message);
+    }
+
+    /*
+     * Converts a level name into its level, defaulting to OFF for unknown names.
+     */
+    private static int parseLevel(String name) {
+        return switch (name.trim().toLowerCase()) {
+            case "trace" -> TRACE;
+            case "debug" -> DEBUG;
+            case "info" -> INFO;
+            default -> OFF;
+        };
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.scheduler.model.Instance;
+import com.scheduler.model.InstanceSnapshot;
+import com.scheduler.model.Schedule;
+import com.scheduler.model.Weights;
+import com.scheduler.parser.MappedParser;
+import com.scheduler.parser.Parser;
+import com.scheduler.search.GeneticAlgorithm;
+import com.scheduler.search.IslandModel;
+import com.scheduler.search.LocalSearch;
+import com.scheduler.search.ORTree;
+import com.scheduler.search.Recombination;
+import com.scheduler.search.RestartPolicy;
+import com.scheduler.search.Selection;
+import com.scheduler.search.Termination;
+import com.scheduler.telemetry.Metrics;
+
+public class Main {
+    public static void main(String[] args) {
+
+        if(args.length > 0){
+            try {
+
+                if (args.length < 9) {
+                    System.err.println("Not enough arguments. Please provide the following arguments: <filename> <wMinFilled> <wPref> <wPair> <wSecDiff> <penGameMin> <penPracticeMin> <penNotPaired> <penSection> [options]");
+                    System.exit(1);
+                }
+
+                String fileName = args[0];
+                File file = new File(fileName);
+                
+                int wMinFilled = Integer.parseInt(args[1]);
+                int wPref = Integer.parseInt(args[2]);
+                int wPair = Integer.parseInt(args[3]);
+                int wSecDiff = Integer.parseInt(args[4]);
+                int penGameMin = Integer.parseInt(args[5]);
+                int penPracticeMin = Integer.parseInt(args[6]);
+                int penNotPaired = Integer.parseInt(args[7]);
+                int penSection = Integer.parseInt(args[8]);
+
+                // Optional settings, given as "--name value" pairs after the weights and penalties
+                int islands = 1;
+                int migrationInterval = 50;
+                long timeBudgetMillis = 0;
+                long generationBudget = 0;
+                ORTree.Strategy searchStrategy = ORTree.Strategy.FORWARD_CHECKING;
+                RestartPolicy restartPolicy = ORTree.DEFAULT_RESTART_POLICY;
+                long maxBacktracks = 0;
+                Selection selection = Selection.DEFAULT;
+                Recombination recombination = Recombination.DEFAULT;
+                Long seed = null;
+                boolean mappedParser = false;
+                File snapshotFile = null;
+                File sweepFile = null;
+                int sweepThreads = Runtime.getRuntime().availableProcessors();
+                long localSearchMillis = 0;
+                long localSearchMoves = 0;
+                int stallGenerations = Termination.DEFAULT_STALL_GENERATIONS;
+                int targetEval = -1;
+                long maxEvaluations = 0;
+                File outFile = null;
+
+                for (int i = 9; i < args.length; i++) {
+
+                    if (i + 1 >= args.length) {
+                        System.err.println("Missing value for option " + args[i]);
+                        System.exit(1);
+                    }
+
+                    switch (args[i]) {
+                        case "--islands" -> islands = Integer.parseInt(args[++i]);
+                        case "--migration-interval" -> migrationInterval = Integer.parseInt(args[++i]);
+                        case "--time-budget-ms" -> timeBudgetMillis = Long.parseLong(args[++i]);
+                        case "--generation-budget" -> generationBudget = Long.parseLong(args[++i]);
+                        case "--ortree" -> searchStrategy = ORTree.Strategy.valueOf(args[++i].toUpperCase().replace('-', '_'));
+                        case "--restarts" -> restartPolicy = RestartPolicy.parse(args[++i]);
+                        case "--max-backtracks" -> maxBacktracks = Long.parseLong(args[++i]);
+                        case "--selection" -> selection = Selection.parse(args[++i]);
+                        case "--crossover" -> recombination = Recombination.parse(args[++i]);
+                        case "--seed" -> seed = Long.parseLong(args[++i]);
+                        case "--parser" -> {
+                            switch (args[++i]) {
+                                case "text" -> mappedParser = false;
+                                case "mapped" -> mappedParser = true;
+                                default -> {
+                                    System.err.println("Unknown parser: " + args[i]);
+                                    System.exit(1);
+                                }
+                            }
+                        }
+                        case "--snapshot" -> snapshotFile = new File(args[++i]);
+                        case "--sweep" -> sweepFile = new File(args[++i]);
+                        case "--sweep-threads" -> sweepThreads = Integer.parseInt(args[++i]);
+                        case "--local-search-ms" -> localSearchMillis = Long.parseLong(args[++i]);
+                        case "--local-search-moves" -> localSearchMoves = Long.parseLong(args[++i]);
+                        case "--stall-generations" -> stallGenerations = Integer.parseInt(args[++i]);
+                        case "--target-eval" -> targetEval = Integer.parseInt(args[++i]);
+                        case "--max-evaluations" -> maxEvaluations = Long.parseLong(args[++i]);
+                        case "--out" -> outFile = new File(args[++i]);
+                        default -> {
+                            System.err.println("Unknown option: " + args[i]);
+                            System.exit(1);
+                        }
+                    }
+                }
+
+                // Load the instance from its snapshot if there is an up-to-date one
+                Instance instance = null;
+                if (snapshotFile != null) {
+                    instance = InstanceSnapshot.read(snapshotFile, file, wMinFilled, wPref, wPair, wSecDiff, penGameMin, penPracticeMin, penNotPaired, penSection);
+                }
+
+                // Otherwise parse the input file, and save a snapshot for the next run
+                if (instance == null) {
+                    instance = mappedParser
+                            ? MappedParser.parseFile(file, wMinFilled, wPref, wPair, wSecDiff, penGameMin, penPracticeMin, penNotPaired, penSection)
+                            : Parser.parseFile(file, wMinFilled, wPref, wPair, wSecDiff, penGameMin,penPracticeMin, penNotPaired, penSection );
+
+                    if (snapshotFile != null) {
+                        InstanceSnapshot.write(instance, file, snapshotFile);
+                    }
+                }
+
+                Termination termination = new Termination(stallGenerations, timeBudgetMillis, targetEval, maxEvaluations);
+
+                // All randomness in the search comes from this generator, so a fixed seed makes runs repeatable
+                SplittableRandom random = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+
+                // Everything the search reports goes here, and is summarized next to the output file if there is one
+                // (a sweep keeps a registry per configuration instead)
+                Metrics metrics = new Metrics();
+
+                PrintStream output = outFile != null ? new PrintStream(outFile) : System.out;
+
+                try {
+                    if (sweepFile != null) {
+                        sweep(instance, sweepFile, sweepThreads, random, islands, migrationInterval, timeBudgetMillis, generationBudget, searchStrategy, restartPolicy, maxBacktracks, selection, recombination, termination, localSearchMillis, localSearchMoves, outFile, output);
+                        return;
+                    }
+
+                    // Run the genetic algorithm to find the optimal schedule
+                    Schedule optimalSchedule = search(instance, random, islands, migrationInterval, timeBudgetMillis, generationBudget, searchStrategy, restartPolicy, maxBacktracks, selection, recombination, termination, localSearchMillis, localSearchMoves, metrics);
+
+                    // Print the schedule
+                    output.println(optimalSchedule);
+
+                } finally {
+                    // Write the summary even if the search failed, as that is when it is most needed
+                    if (outFile != null) {
+                        output.close();
+                        if (sweepFile == null) {
+                            writeMetrics(metrics, metricsFile(outFile, ""));
+                        }
+                    }
+                }
+
+            } catch (NumberFormatException e) {
+                System.err.println("Number format error: " + e.getMessage());
+            } catch (IOException e) {
+                System.err.println("IO error: " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println("Error: " + e.getMessage());
+            }
+        }
+        else {
+            System.out.println("No command line arguments found.");
+        }
+
+    }
+
+    /*
+     * Search for the best schedule of an instance with the given settings.
+     * If local search has a budget, the best schedule of the genetic algorithm is then refined with it.
+     */
+    private static Schedule search(Instance instance, SplittableRandom random, int islands, int migrationInterval, long timeBudgetMillis, long generationBudget, ORTree.Strategy searchStrategy, RestartPolicy restartPolicy, long maxBacktracks, Selection selection, Recombination recombination, Termination termination, long localSearchMillis, long localSearchMoves, Metrics metrics) {
+
+        Schedule best;
+
+        // Use the island model when running several populations or when the islands have a generation budget,
+        // a single population stops on its own termination criteria (including the time budget)
+        if (islands != 1 || generationBudget > 0) {
+            IslandModel islandModel = new IslandModel(instance, islands, migrationInterval, timeBudgetMillis, generationBudget);
+            islandModel.setSearchStrategy(searchStrategy);
+            islandModel.setRestartPolicy(restartPolicy, maxBacktracks);
+            islandModel.setSelection(selection);
+            islandModel.setRecombination(recombination);
+            islandModel.setTermination(termination);
+            islandModel.setMetrics(metrics);
+            islandModel.setRandom(random);
+            best = islandModel.runSearch();
+        } else {
+            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(instance, random);
+            geneticAlgorithm.setSearchStrategy(searchStrategy);
+            geneticAlgorithm.setRestartPolicy(restartPolicy, maxBacktracks);
+            geneticAlgorithm.setSelection(selection);
+            geneticAlgorithm.setRecombination(recombination);
+            geneticAlgorithm.setTermination(termination);
+            geneticAlgorithm.setMetrics(metrics);
+            best = geneticAlgorithm.runSearch();
+        }
+
+        if (localSearchMillis > 0 || localSearchMoves > 0) {
+            LocalSearch localSearch = new LocalSearch(instance, random.split(), localSearchMillis, localSearchMoves);
+            best = localSearch.improve(best);
+
+            metrics.counter(Metrics.LOCAL_SEARCH_STEPS).add(localSearch.getSteps());
+            metrics.counter(Metrics.LOCAL_SEARCH_ACCEPTED).add(localSearch.getAccepted());
+        }
+
+        return best;
+    }
+
+    /*
+     * Solve one parsed instance once for every line of weights and penalties in a sweep file, several at a time.
+     *
+     * Each line holds the eight weights and penalties in the order of the command line arguments; blank lines and
+     * lines starting with # are skipped. The results are printed in the order of the file, each headed by its weights.
+     * Every configuration gets its own random stream, split off in file order, so a fixed seed makes the sweep repeatable.
+     *
+     * Every configuration also gets its own metrics registry, as counters and gauges of searches with different weights
+     * can't be added up. With an output file, configuration n (counting from 1 in file order) is summarized in
+     * <name>.n.metrics.json as soon as its result has been printed.
+     */
+    private static void sweep(Instance instance, File sweepFile, int threads, SplittableRandom random, int islands, int migrationInterval, long timeBudgetMillis, long generationBudget, ORTree.Strategy searchStrategy, RestartPolicy restartPolicy, long maxBacktracks, Selection selection, Recombination recombination, Termination termination, long localSearchMillis, long localSearchMoves, File outFile, PrintStream output) throws IOException, InterruptedException {
+
+        List<Weights> configurations = new ArrayList<>();
+        for (String line : Files.readAllLines(sweepFile.toPath())) {
+            if (!line.isBlank() && !line.trim().startsWith("#")) {
+                configurations.add(Weights.parse(line));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+
+        try {
+            List<Future<Schedule>> results = new ArrayList<>();
+            List<Metrics> configurationMetrics = new ArrayList<>();
+            for (Weights weights : configurations) {
+                Instance weighted = instance.withWeights(weights);
+                SplittableRandom configurationRandom = random.split();
+                Metrics metrics = new Metrics();
+                configurationMetrics.add(metrics);
+                results.add(executor.submit(() -> search(weighted, configurationRandom, islands, migrationInterval, timeBudgetMillis, generationBudget, searchStrategy, restartPolicy, maxBacktracks, selection, recombination, termination, localSearchMillis, localSearchMoves, metrics)));
+            }
+
+            for (int i = 0; i < configurations.size(); i++) {
+
+                output.println("Weights: " + configurations.get(i));
+
+                try {
+                    output.println(results.get(i).get());
+                } catch (ExecutionException e) {
+                    output.println("Error: " + e.getCause().getMessage());
+                    output.println();
+                }
+
+                // The configuration has finished, so its summary is complete
+                if (outFile != null) {
+                    writeMetrics(configurationMetrics.get(i), metricsFile(outFile, "." + (i + 1)));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /*
+     * Get the file a metrics summary of an output file is written to: the output file's name with its
+     * extension replaced by the suffix and .metrics.json, in the same directory.
+     *
+     * @param outFile the output file
+     * @param suffix put before .metrics.json, for example ".2" for the second configuration of a sweep, or empty
+     */
+    private static File metricsFile(File outFile, String suffix) {
+
+        String name = outFile.getName();
+        int dot = name.lastIndexOf('.');
+
+        return new File(outFile.getAbsoluteFile().getParentFile(), (dot > 0 ? name.substring(0, dot) : name) + suffix + ".metrics.json");
+    }
+
+    /*
+     * Write the metrics summary as JSON.
+     */
+    private static void writeMetrics(Metrics metrics, File file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file.toPath())) {
+            metrics.writeJson(writer);
+        }
+    }
+}
@@ -6,8 +6,12 @@
 
 package com.scheduler.model;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.scheduler.Debug;
 
@@ -35,9 +39,20 @@ public class Event {
     public final int printTabs;
 
     /*
-     * A list of events that are not compatible with this event.
+     * The dense index of the event within its instance, or -1 until the instance has been indexed.
      */
-    private final HashSet<Event> incompatibleEvents;
+    private int index = -1;
+
+    /*
+     * This event's row of the instance's incompatibility matrix: bit j is set if the event is not compatible
+     * with the event with index j. Set when the instance is indexed.
+     */
+    private long[] incompatibleRow = new long[0];
+
+    /*
+     * A list of events that are not compatible with this event. Set when the instance is indexed.
+     */
+    private List<Event> incompatibleEvents = Collections.emptyList();
 
     /*
      * A list of dates that are unwanted for this event.
@@ -54,6 +69,13 @@ public class Event {
      */
     private final HashSet<Event> pairs;
 
+    /*
+     * Read-only views of the unwanted slots, preferences and pairs, handed out by the getters.
+     */
+    private final Set<Slot> unwantedSlotsView;
+    private final Map<Slot, Integer> preferencesView;
+    private final Set<Event> pairsView;
+
     /*
      * Constructor for the Event class.
      * 
@@ -114,10 +136,26 @@ public class Event {
         this.division = new Division(league, tier, div);
         this.id = id;
         this.isGame = isGame;
-        this.incompatibleEvents = new HashSet<>();
         this.unwantedSlots = new HashSet<>();
         this.preferences = new HashMap<>();
         this.pairs = new HashSet<>();
+        this.unwantedSlotsView = Collections.unmodifiableSet(unwantedSlots);
+        this.preferencesView = Collections.unmodifiableMap(preferences);
+        this.pairsView = Collections.unmodifiableSet(pairs);
+    }
+
+    /*
+     * Returns the dense index of the event within its instance.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /*
+     * Sets the dense index of the event within its instance.
+     */
+    void setIndex(int index) {
+        this.index = index;
     }
 
     /*
@@ -156,35 +194,35 @@ public class Event {
     }
 
     /*
-     * Adds an event to the list of events that are not compatible with this event.
-     * 
-     * @param otherEvent the other event
+     * Sets this event's row of the instance's incompatibility matrix and the list of events it is not compatible with.
      */
-    public void setIncompatible(Event otherEvent) {
-        if (!otherEvent.equals(this)) {
-            incompatibleEvents.add(otherEvent);
-
-            if (!otherEvent.getIncompatibleEvents().contains(this)) {
-                otherEvent.setIncompatible(this);
-            }
-
-        }
+    void setIncompatibilities(long[] incompatibleRow, List<Event> incompatibleEvents) {
+        this.incompatibleRow = incompatibleRow;
+        this.incompatibleEvents = Collections.unmodifiableList(incompatibleEvents);
     }
 
     /*
-     * Get HashSet of all other events that are not compatible with this event
+     * Get all other events that are not compatible with this event
      */
-    public HashSet<Event> getIncompatibleEvents() {
+    public List<Event> getIncompatibleEvents() {
         return incompatibleEvents;
     }
 
     /*
-     * Returns true if the event is compatible with the other event.
+     * Returns this event's row of the instance's incompatibility matrix, by event index.
+     */
+    public long[] getIncompatibleRow() {
+        return incompatibleRow;
+    }
+
+    /*
+     * Returns true if the event is not compatible with the other event.
      * 
      * @param otherEvent the other event
      */
     public boolean isIncompatible(Event otherEvent) {
-        return incompatibleEvents.contains(otherEvent);
+        int other = otherEvent.index;
+        return other >= 0 && (other >>> 6) < incompatibleRow.length && (incompatibleRow[other >>> 6] & (1L << other)) != 0;
     }
 
     /*
@@ -200,18 +238,19 @@ public class Event {
 
     /*
      * Adds a date to the list of dates that are unwanted for this event.
+     * Only used while the instance is being built (see InstanceBuilder).
      * 
      * @param unwantedDate the date that is unwanted
      */
-    public void setUnwanted(Slot slot) {
+    void setUnwanted(Slot slot) {
         unwantedSlots.add(slot);
     }
 
     /*
-     * Get HashSet of all dates that are unwanted for this event
+     * Get a read-only view of all dates that are unwanted for this event
      */
-    public HashSet<Slot> getUnwanteds() {
-        return unwantedSlots;
+    public Set<Slot> getUnwanteds() {
+        return unwantedSlotsView;
     }
 
     /*
@@ -235,11 +274,12 @@ public class Event {
 
     /*
      * Sets a slot preference for the event.
+     * Only used while the instance is being built (see InstanceBuilder).
      * 
      * @param slot the slot to set a preference for
      * @param weight the weight of the preference
      */
-    public void setPreference(Slot slot, int weight) {
+    void setPreference(Slot slot, int weight) {
         preferences.put(slot, weight);
     }
         public void printPreferences() {
@@ -253,18 +293,19 @@ public class Event {
     /**
      * Gets the map of preferences for this event.
      *
-     * @return  The HashMap of preference values for each slot for this event.
+     * @return  A read-only view of the preference values for each slot for this event.
      */
-    public HashMap<Slot, Integer> getPreferences() {
-        return preferences;
+    public Map<Slot, Integer> getPreferences() {
+        return preferencesView;
     }
 
     /*
      * Sets an event pair for the event.
+     * Only used while the instance is being built (see InstanceBuilder).
      * 
      * @param otherEvent the other event to set as a pair
      */
-    public void setPair(Event otherEvent) {
+    void setPair(Event otherEvent) {
         pairs.add(otherEvent);
 
         if (!otherEvent.getPairs().contains(this)) {
@@ -281,10 +322,10 @@ public class Event {
     }
 
     /*
-     * Get HashSet of all other events that this event is paired with
+     * Get a read-only view of all other events that this event is paired with
      */
-    public HashSet<Event> getPairs() {
-        return pairs;
+    public Set<Event> getPairs() {
+        return pairsView;
     }
 
     /*
@@ -326,7 +367,7 @@ public class Event {
         // Check if slot is unwanted
         if (isUnwanted(slot)) {
 
-            Debug.msg("\t\t\tEvent " + id + " is unwanted on " + slot);
+            Debug.trace(() -> "\t\t\tEvent " + id + " is unwanted on " + slot);
 
             return false;
         }
@@ -334,7 +375,7 @@ public class Event {
         // Check if slot is game or practice
         if (isGame() != slot.isGameSlot()) {
 
-            Debug.msg("\t\t\tEvent " + id + " is a " + getEventType() + " and slot is a " + slot.getType());
+            Debug.trace(() -> "\t\t\tEvent " + id + " is a " + getEventType() + " and slot is a " + slot.getType());
 
             return false;
         }
@@ -342,14 +383,14 @@ public class Event {
         // Check if slot is evening if the event is evening
         if (isEvening() && !slot.isEvening()) {
 
-            Debug.msg("\t\t\tEvent " + id + " is an evening event and slot is not evening");
+            Debug.trace(() -> "\t\t\tEvent " + id + " is an evening event and slot is not evening");
 
             return false;
         }
 
         if (isSpecialPractice() && !slot.isSpecialPracticeSlot()) {
 
-            Debug.msg("\t\t\tEvent " + id + " is a special practice and slot is not a special practice slot");
+            Debug.trace(() -> "\t\t\tEvent " + id + " is a special practice and slot is not a special practice slot");
 
             return false;
         }
@@ -0,0 +1,770 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Represents an instance of the soccer league scheduling problem.
+ * An instance contains all the information needed to schedule games and practices.
+ *
+ * Instances are built with an InstanceBuilder and can't be changed afterwards, so one instance can be shared
+ * by searches on several threads without locking.
+ */
+public class Instance {
+
+    /*
+     * The weights and penalties schedules of this instance are evaluated with.
+     */
+    private final Weights weights;
+
+    /* 
+     * All gameSlots and practiceSlots, keyed by slot id (read-only)
+     */
+    final private Map<String, Slot> slots;
+
+    /* 
+     * All events, keyed by event id (read-only)
+     */
+    final private Map<String, Event> events;
+
+    /*
+     * The partial assignment of events to slots, in the order they were added (read-only).
+     */
+    final private Map<Event, Slot> partialAssignment;
+
+    /*
+     * All slots, by slot index.
+     */
+    final private Slot[] slotArray;
+
+    /*
+     * All events, by event index.
+     */
+    final private Event[] eventArray;
+
+    /*
+     * Read-only views of all slots, the game slots and the practice slots, in index order.
+     */
+    final private List<Slot> slotList;
+    final private List<Slot> gameSlotList;
+    final private List<Slot> practiceSlotList;
+
+    /*
+     * A read-only view of all events, in index order.
+     */
+    final private List<Event> eventList;
+
+    /*
+     * For each slot index, a bitset of the indices of all slots it overlaps with.
+     */
+    final private long[][] overlapMatrix;
+
+    /*
+     * For each event index, a bitset of the indices of all events it is not compatible with.
+     */
+    final private long[][] incompatibleMatrix;
+
+    /*
+     * For each event index, the indices (in ascending order) of the slots that pass the event's static checks.
+     */
+    final private int[][] staticDomains;
+
+    /*
+     * The partial schedule of the instance. Never handed out directly, see getPartialSchedule.
+     */
+    final private Schedule partialSchedule;
+
+    /*
+     * For each event, the events in the same tier but a different division (read-only lists).
+     */
+    final private Map<Event, List<Event>> sectionRivals;
+
+    final private String name;
+
+    /*
+     * Constructor for the Instance class, called by InstanceBuilder.build.
+     * Gives every slot and event a dense index and builds the lookup tables and partial schedule.
+     *
+     * @param builder the builder holding the slots, events and constraints of the instance
+     * @param incompatibilities the incompatibility bitset of every event (by event index), or null to build them
+     */
+    Instance(InstanceBuilder builder, long[][] incompatibilities) {
+
+        this.weights = builder.getWeights();
+        this.name = builder.getName();
+
+        this.slots = Collections.unmodifiableMap(new LinkedHashMap<>(builder.getSlots()));
+        this.events = Collections.unmodifiableMap(new LinkedHashMap<>(builder.getEvents()));
+        this.partialAssignment = Collections.unmodifiableMap(new LinkedHashMap<>(builder.getPartialAssignment()));
+
+        slotArray = slots.values().toArray(new Slot[0]);
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i].setIndex(i);
+        }
+
+        ArrayList<Slot> gameSlots = new ArrayList<>();
+        ArrayList<Slot> practiceSlots = new ArrayList<>();
+        for (Slot slot : slotArray) {
+            (slot.isGameSlot() ? gameSlots : practiceSlots).add(slot);
+        }
+
+        slotList = Collections.unmodifiableList(Arrays.asList(slotArray));
+        gameSlotList = Collections.unmodifiableList(gameSlots);
+        practiceSlotList = Collections.unmodifiableList(practiceSlots);
+
+        // Work out which slots overlap once, so overlap checks become a single bit test
+        overlapMatrix = new long[slotArray.length][(slotArray.length + 63) >>> 6];
+        for (int i = 0; i < slotArray.length; i++) {
+
+            ArrayList<Slot> overlapping = new ArrayList<>();
+
+            for (int j = 0; j < slotArray.length; j++) {
+                if (slotArray[i].overlapsByTime(slotArray[j])) {
+                    overlapMatrix[i][j >>> 6] |= 1L << j;
+                    overlapping.add(slotArray[j]);
+                }
+            }
+
+            slotArray[i].setOverlaps(overlapMatrix[i], overlapping);
+        }
+
+        eventArray = events.values().toArray(new Event[0]);
+        for (int i = 0; i < eventArray.length; i++) {
+            eventArray[i].setIndex(i);
+        }
+
+        eventList = Collections.unmodifiableList(Arrays.asList(eventArray));
+
+        incompatibleMatrix = incompatibilities != null ? incompatibilities : buildIncompatibilities(eventArray, builder.getNotCompatible());
+
+        linkIncompatibilities();
+
+        staticDomains = buildStaticDomains();
+
+        HashMap<String, ArrayList<Event>> tiers = new HashMap<>();
+        for (Event event : eventArray) {
+            tiers.computeIfAbsent(event.getDivision().getTier(), tier -> new ArrayList<>()).add(event);
+        }
+
+        HashMap<Event, List<Event>> rivalsByEvent = new HashMap<>();
+        for (ArrayList<Event> tier : tiers.values()) {
+            for (Event event : tier) {
+                ArrayList<Event> rivals = new ArrayList<>();
+                for (Event other : tier) {
+                    if (!other.equals(event) && !event.getDivision().same(other.getDivision())) {
+                        rivals.add(other);
+                    }
+                }
+                rivalsByEvent.put(event, Collections.unmodifiableList(rivals));
+            }
+        }
+        sectionRivals = Collections.unmodifiableMap(rivalsByEvent);
+
+        partialSchedule = new Schedule(this, true);
+
+        for (Event event : partialAssignment.keySet()) {
+
+            Slot slot = partialAssignment.get(event);
+
+            if (slot == null || !partialSchedule.assign(event, slot)) {
+                System.err.println("Partial assignment failure. Failed to assign " + event.getId() + " to " + (slot == null ? "missing slot" : slot.getId()));
+            }
+        }
+    }
+
+    /*
+     * Constructor for a copy of an instance with other weights. The copy shares all slots, events and
+     * lookup tables with the original.
+     */
+    private Instance(Instance other, Weights weights) {
+
+        this.weights = weights;
+
+        this.slots = other.slots;
+        this.events = other.events;
+        this.partialAssignment = other.partialAssignment;
+
+        this.slotArray = other.slotArray;
+        this.eventArray = other.eventArray;
+        this.slotList = other.slotList;
+        this.gameSlotList = other.gameSlotList;
+        this.practiceSlotList = other.practiceSlotList;
+        this.eventList = other.eventList;
+        this.overlapMatrix = other.overlapMatrix;
+        this.incompatibleMatrix = other.incompatibleMatrix;
+        this.staticDomains = other.staticDomains;
+        this.sectionRivals = other.sectionRivals;
+        this.name = other.name;
+
+        this.partialSchedule = new Schedule(other.partialSchedule, this);
+    }
+
+    /*
+     * Returns this instance with other weights and penalties, without parsing or indexing it again.
+     * Both instances are read-only and can be searched on different threads at the same time.
+     *
+     * @param weights the weights and penalties to evaluate schedules with
+     * @returns an instance with the same constraints and the given weights
+     */
+    public Instance withWeights(Weights weights) {
+        return new Instance(this, weights);
+    }
+
+    /* 
+     * Get all slots in the instance, keyed by slot id. The map is read-only.
+     */
+    public Map<String, Slot> getSlots() {
+        return slots;
+    }
+
+    /*
+     * Print all the slots in the instance.
+     */
+    public void printSlots() {
+
+        System.out.println("Slots:");
+
+        for (Slot slot : slots.values()) {
+            System.out.println(slot.getId() + " " + slot.getType());
+        }
+
+    }
+
+    /* 
+     * Get all the HashMap of gameSlots in the instance.
+     */
+    public HashMap<String, Slot> getGameSlots() {
+
+        HashMap<String, Slot> gameSlots = new HashMap<>();
+
+        for (Slot slot : slots.values()) {
+            if (slot.isGameSlot()) {
+                gameSlots.put(slot.getId(), slot);
+            }
+        }
+
+        return gameSlots;
+    }
+
+    /* 
+     * Get all the HashMap of practiceSlots in the instance.
+     */
+    public HashMap<String, Slot> getPracticeSlots() {
+
+        HashMap<String, Slot> gameSlots = new HashMap<>();
+
+        for (Slot slot : slots.values()) {
+            if (slot.isPracticeSlot()) {
+                gameSlots.put(slot.getId(), slot);
+            }
+        }
+
+        return gameSlots;
+    }
+
+    /*
+     * Get a slot by its day, time, and type.
+     * 
+     * @param slotId the identifier of the slot
+     * @returns the slot with the given identifier, or null if it does not exist
+     */
+    public Slot getSlot(String day, String startTime, String type) {
+
+        Slot slot = slots.get(day + " " + startTime + " " + type);
+
+        if (slot == null) {
+            System.err.println("Slot " + day + " " + startTime + " " + type + " does not exist.");
+        }
+
+        return slot;
+    }
+
+    /*
+     * Get all events in the instance, keyed by event id. The map is read-only.
+     */
+    public Map<String, Event> getEvents() {
+        return events;
+    }
+
+    /*
+     * Get an event by its identifier.
+     * 
+     * @param eventId the identifier of the event
+     * @returns the event with the given identifier, or null if it does not exist
+     */
+    public Event getEvent(String eventId) {
+
+        Event event = events.get(eventId);
+
+        if (event == null) {
+            System.err.println("Event " + eventId + " does not exist.");
+        }
+
+        return event;
+    }
+
+    /*
+     * Get all the HashMap of all games in the instance.
+     */
+    public HashMap<String, Event> getGames() {
+
+        HashMap<String, Event> games = new HashMap<>();
+
+        for (Event event : events.values()) {
+            if (event.isGame()) {
+                games.put(event.getId(), event);
+            }
+        }
+
+        return games;
+    }
+
+    /* 
+     * Get all the HashMap of all practices in the instance.
+     */
+    public HashMap<String, Event> getPractices() {
+
+        HashMap<String, Event> practices = new HashMap<>();
+
+        for (Event event : events.values()) {
+            if (event.isPractice()) {
+                practices.put(event.getId(), event);
+            }
+        }
+
+        return practices;
+    }
+
+    /*
+     * Get all events that are in the same tier as the given event but in a different division.
+     * Overlaps between these events are penalized by the section difference soft constraint.
+     *
+     * @param event the event to get the rivals of
+     * @returns the read-only list of rival events
+     */
+    public List<Event> getSectionRivals(Event event) {
+        return sectionRivals.getOrDefault(event, Collections.emptyList());
+    }
+
+    /*
+     * Get a copy of the partial schedule of the instance, which the caller is free to change.
+     */
+    public Schedule getPartialSchedule() {
+        return new Schedule(partialSchedule);
+    }
+
+    /*
+     * Get the partial schedule of the instance itself. It is shared and must not be changed.
+     */
+    Schedule getSharedPartialSchedule() {
+        return partialSchedule;
+    }
+
+    /*
+     * Get the name of the instance.
+     */
+    public String getName() {
+        return name;
+    }
+
+        public void printIncompatibiles() {
+
+            for (Event event : events.values()) {
+                event.printIncompatibleEvents();
+            }
+
+        }
+
+        public void printUnwanteds() {
+
+            System.out.println("Unwanted:");
+
+            for (Event event : events.values()) {
+                event.printUnwantedSlots();
+            }
+
+        }   
+
+        public void printPreferences() {
+
+            for (Event event : events.values()) {
+                event.printPreferences();
+            }
+
+        }
+
+        public void printPairs() {
+
+            for (Event event : events.values()) {
+                event.printPairs();
+            }
+
+        }
+
+    /*
+     * Get the partial assignment of events to slots, in the order they were added.
+     * A slot is null if the event had to be fixed to a slot that does not exist.
+     */
+    Map<Event, Slot> getPartialAssignment() {
+        return partialAssignment;
+    }
+
+    /*
+     * Builds the incompatibility matrix from the hard constraints on divisions and the not-compatible pairs.
+     *
+     * Only events in the same league and tier can share a division, so events are grouped by league and tier
+     * and only pairs within a group are compared. CMSA U12T1S and U13T1S are grouped with U12T1 and U13T1.
+     * - A game is not compatible with any other event of the same division.
+     * - A practice for all divisions of a tier is not compatible with the other practices of that tier.
+     * - The U15 to U19 games are not compatible with each other.
+     */
+    private static long[][] buildIncompatibilities(Event[] eventArray, List<Event[]> notCompatible) {
+
+        int words = (eventArray.length + 63) >>> 6;
+        long[][] matrix = new long[eventArray.length][words];
+
+        HashMap<String, ArrayList<Event>> groups = new HashMap<>();
+        ArrayList<Event> u15toU19Games = new ArrayList<>();
+
+        for (Event event : eventArray) {
+
+            Division division = event.getDivision();
+            String tier = division.getTier();
+
+            // The special practices belong with the games of their tier
+            if (division.getLeague().equals("CMSA") && (tier.equals("U12T1S") || tier.equals("U13T1S"))) {
+                tier = tier.substring(0, tier.length() - 1);
+            }
+
+            groups.computeIfAbsent(division.getLeague() + " " + tier, key -> new ArrayList<>()).add(event);
+
+            if (event.isGame() && event.isU15toU19()) {
+                u15toU19Games.add(event);
+            }
+        }
+
+        for (ArrayList<Event> group : groups.values()) {
+            for (int i = 0; i < group.size(); i++) {
+
+                Event event = group.get(i);
+                Division division = event.getDivision();
+
+                for (int j = i + 1; j < group.size(); j++) {
+
+                    Event other = group.get(j);
+
+                    if (!division.same(other.getDivision())) {
+                        continue;
+                    }
+
+                    // Practices only clash with each other when one of them is for all divisions
+                    if (event.isGame() || other.isGame() || division.getDiv().equals("all") || other.getDivision().getDiv().equals("all")) {
+                        setIncompatible(matrix, event, other);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < u15toU19Games.size(); i++) {
+            for (int j = i + 1; j < u15toU19Games.size(); j++) {
+                setIncompatible(matrix, u15toU19Games.get(i), u15toU19Games.get(j));
+            }
+        }
+
+        for (Event[] pair : notCompatible) {
+            setIncompatible(matrix, pair[0], pair[1]);
+        }
+
+        return matrix;
+    }
+
+    /*
+     * Hands every event its row of the incompatibility matrix and the list of events that row contains.
+     */
+    private void linkIncompatibilities() {
+
+        int words = (eventArray.length + 63) >>> 6;
+
+        for (Event event : eventArray) {
+
+            long[] row = incompatibleMatrix[event.getIndex()];
+            ArrayList<Event> incompatibleEvents = new ArrayList<>();
+
+            for (int w = 0; w < words; w++) {
+                for (long bits = row[w]; bits != 0; bits &= bits - 1) {
+                    incompatibleEvents.add(eventArray[(w << 6) + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+
+            event.setIncompatibilities(row, incompatibleEvents);
+        }
+    }
+
+    /*
+     * Works out the static domain of every event: the slots it could ever be assigned to, whatever else is scheduled.
+     * These are the slots of the event's type that it does not find unwanted, that are in the evening if it is an
+     * evening event, and that are TU 18:00 if it is a special practice (see Event.isCompatible).
+     */
+    private int[][] buildStaticDomains() {
+
+        int[][] domains = new int[eventArray.length][];
+        int[] domain = new int[slotArray.length];
+
+        for (Event event : eventArray) {
+
+            int size = 0;
+
+            for (Slot slot : slotArray) {
+                if (event.isCompatible(slot)) {
+                    domain[size++] = slot.getIndex();
+                }
+            }
+
+            domains[event.getIndex()] = Arrays.copyOf(domain, size);
+        }
+
+        return domains;
+    }
+
+    /*
+     * Marks two different events as not compatible with each other.
+     */
+    private static void setIncompatible(long[][] matrix, Event event, Event other) {
+
+        int i = event.getIndex();
+        int j = other.getIndex();
+
+        if (i != j) {
+            matrix[i][j >>> 6] |= 1L << j;
+            matrix[j][i >>> 6] |= 1L << i;
+        }
+    }
+
+    /*
+     * Returns one 64-event word of the incompatibility bitset of an event: bit j of word w is set if the event is
+     * not compatible with the event with index 64 * w + j.
+     */
+    public long incompatibleWord(int eventIndex, int word) {
+        return incompatibleMatrix[eventIndex][word];
+    }
+
+    /*
+     * Returns the incompatibility bitset of every event, by event index.
+     */
+    long[][] getIncompatibleMatrix() {
+        return incompatibleMatrix;
+    }
+
+    /*
+     * Returns the indices (in ascending order) of the slots in the static domain of an event: the slots that pass
+     * Event.isCompatible, before anything is scheduled. The array is shared and must not be changed.
+     */
+    public int[] getStaticDomain(Event event) {
+        return staticDomains[event.getIndex()];
+    }
+
+    /*
+     * Get the number of slots in the instance.
+     */
+    public int getSlotCount() {
+        return slotArray.length;
+    }
+
+    /*
+     * Get the number of events in the instance.
+     */
+    public int getEventCount() {
+        return eventArray.length;
+    }
+
+    /*
+     * Get all slots, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Slot> getSlotList() {
+        return slotList;
+    }
+
+    /*
+     * Get all game slots, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Slot> getGameSlotList() {
+        return gameSlotList;
+    }
+
+    /*
+     * Get all practice slots, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Slot> getPracticeSlotList() {
+        return practiceSlotList;
+    }
+
+    /*
+     * Get all events, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Event> getEventList() {
+        return eventList;
+    }
+
+    /*
+     * Get a slot by its index.
+     */
+    public Slot getSlotByIndex(int index) {
+        return slotArray[index];
+    }
+
+    /*
+     * Get an event by its index.
+     */
+    public Event getEventByIndex(int index) {
+        return eventArray[index];
+    }
+
+    /*
+     * Returns true if the two slots (given by index) overlap.
+     */
+    public boolean overlaps(int slotIndex, int otherSlotIndex) {
+        return (overlapMatrix[slotIndex][otherSlotIndex >>> 6] & (1L << otherSlotIndex)) != 0;
+    }
+
+    /*
+     * Returns one 64-slot word of the overlap bitset of a slot: bit j of word w is set if the slot
+     * overlaps the slot with index 64 * w + j.
+     */
+    public long overlapWord(int slotIndex, int word) {
+        return overlapMatrix[slotIndex][word];
+    }
+
+    /*
+     * Returns true if the slot belongs to this instance.
+     */
+    public boolean containsSlot(Slot slot) {
+        return slot != null && slot.getIndex() >= 0 && slot.getIndex() < slotArray.length && slotArray[slot.getIndex()] == slot;
+    }
+
+    /*
+     * Returns true if the event belongs to this instance.
+     */
+    public boolean containsEvent(Event event) {
+        return event != null && event.getIndex() >= 0 && event.getIndex() < eventArray.length && eventArray[event.getIndex()] == event;
+    }
+
+    /*
+     * Returns true if the event is fixed to a slot by the partial assignment.
+     */
+    public boolean isPartiallyAssigned(Event event) {
+        return partialSchedule.getSlotFromEvent(event) != null;
+    }
+
+    /*
+     * Get list of all slots that are compatible with a given event.
+     * 
+     * NOTE: this does not consider any incompatibly assigned events or the fullness of the slots
+     * It returns slots that pass the following criteria:
+     * - The slot is not unwanted by this event
+     * - The slot type is correct (game vs practice)
+     * - The slot is in evening if necessary
+     * - IF SPECIAL EVENT, the slot is 18:00 TU as necessary
+     * 
+     * @param event the event to check compatibility for
+     * @returns a HashSet of all slots that are compatible with the event
+     */
+    public HashSet<Slot> getCompatibleSlots(Event event) {
+
+        HashSet<Slot> compatibleSlots = new HashSet<>();
+
+        for (int slotIndex : getStaticDomain(event)) {
+            compatibleSlots.add(slotArray[slotIndex]);
+        }
+
+        return compatibleSlots;
+    }
+  
+    /*
+     * Get the weights and penalties schedules of this instance are evaluated with.
+     */
+    public Weights getWeights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        // print in same format as input file
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Name:\n");
+        sb.append(name).append("\n");
+
+
+        sb.append("\nGame Slots:\n");
+        for (Slot slot : getGameSlots().values()) {
+            sb.append(slot.toString()).append("\n");
+        }
+
+        sb.append("\nPractice Slots:\n");
+        for (Slot slot : getPracticeSlots().values()) {
+            sb.append(slot.toString()).append("\n");
+        }
+
+        sb.append("\nGames:\n");
+        for (Event event : getGames().values()) {
+            sb.append(event.toString()).append("\n");
+        }
+
+        sb.append("\nPractices:\n");
+        for (Event event : getPractices().values()) {
+            sb.append(event.toString()).append("\n");
+        }
+
+        sb.append("\nUnwanted:\n");
+        for (Event event : events.values()) {
+            for (Slot slot : event.getUnwanteds()) {
+                sb.append(event.getId()).append(" ").append(slot.getId()).append("\n");
+            }
+        }
+
+        sb.append("\nPreferences:\n");
+        for (Event event : events.values()) {
+            for (Slot slot : event.getPreferences().keySet()) {
+                sb.append(event.getId()).append(" ").append(slot.getId()).append(" ").append(event.getPreferences().get(slot)).append("\n");
+            }
+        }
+
+        sb.append("\nPairs:\n");
+        for (Event event : events.values()) {
+            for (Event pair : event.getPairs()) {
+                sb.append(event.getId()).append(" ").append(pair.getId()).append("\n");
+            }
+        }
+
+        sb.append("\nPartial Assignments:\n");
+        for (Event event : partialAssignment.keySet()) {
+            Slot slot = partialAssignment.get(event);
+            sb.append(event.getId()).append(" ").append(slot.getId()).append("\n");
+        }
+        
+        
+        return sb.toString();
+
+    }
+
+
+    public void printPartialSchedule() {
+
+        for (Event event : partialAssignment.keySet()) {
+            Slot slot = partialAssignment.get(event);
+            System.out.println(event.getId() + " " + slot.getId());
+        }
+    }
+}
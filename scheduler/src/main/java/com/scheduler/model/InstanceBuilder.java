@@ -0,0 +1,446 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.scheduler.Debug;
+
+/*
+ * Collects the slots, events and constraints of a soccer league scheduling problem and builds them into an Instance.
+ *
+ * The parsers fill a builder line by line, and build() then indexes everything into an immutable Instance.
+ * A builder can only be built once: its slots and events become part of the instance, so it can't be changed afterwards.
+ * For the same reason, slots and events that already belong to a built instance can't be added to another builder.
+ */
+public class InstanceBuilder {
+
+    /*
+     * The weights and penalties schedules of the instance are evaluated with.
+     */
+    private final Weights weights;
+
+    /*
+     * All gameSlots and practiceSlots, keyed by slot id, in the order they were added.
+     */
+    private final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>();
+
+    /*
+     * All events, keyed by event id, in the order they were added.
+     */
+    private final LinkedHashMap<String, Event> events = new LinkedHashMap<>();
+
+    /*
+     * The partial assignment of events to slots, in the order they were added.
+     */
+    private final LinkedHashMap<Event, Slot> partialAssignment = new LinkedHashMap<>();
+
+    /*
+     * The pairs of events listed as not compatible in the input, in the order they were added.
+     */
+    private final ArrayList<Event[]> notCompatible = new ArrayList<>();
+
+    private String name;
+
+    /*
+     * True once the instance has been built.
+     */
+    private boolean built = false;
+
+    /*
+     * Constructor for the InstanceBuilder class.
+     */
+    public InstanceBuilder(int wMinFilled, int wPref, int wPair, int wSecDiff, int penGameMin, int penPracticeMin, int penNotPaired, int penSection) {
+        this(new Weights(wMinFilled, wPref, wPair, wSecDiff, penGameMin, penPracticeMin, penNotPaired, penSection));
+    }
+
+    /*
+     * Constructor for the InstanceBuilder class.
+     *
+     * @param weights the weights and penalties schedules of the instance are evaluated with
+     */
+    public InstanceBuilder(Weights weights) {
+
+        Debug.trace(() -> "Creating instance with weights: " + weights);
+
+        this.weights = weights;
+    }
+
+    /*
+     * Index everything added so far into an immutable instance.
+     * Must be called once all slots, events and partial assignments have been added.
+     *
+     * @returns the instance
+     */
+    public Instance build() {
+        return build(null);
+    }
+
+    /*
+     * Index everything added so far into an immutable instance, taking the incompatibility matrix as given instead of building it.
+     *
+     * @param incompatibilities the incompatibility bitset of every event (by event index), or null to build them
+     * @returns the instance
+     */
+    Instance build(long[][] incompatibilities) {
+
+        checkNotBuilt();
+        built = true;
+
+        Instance instance = new Instance(this, incompatibilities);
+
+        Debug.trace("Instance created.");
+
+        return instance;
+    }
+
+    /*
+     * Throws an IllegalStateException if the instance has already been built.
+     */
+    private void checkNotBuilt() {
+        if (built) {
+            throw new IllegalStateException("The instance has already been built.");
+        }
+    }
+
+    /*
+     * Throws an IllegalStateException if a slot or event already has an index, so it belongs to a built instance:
+     * building would re-index it (and replace its overlaps or incompatibilities) while that instance still uses it.
+     *
+     * @param index the index of the slot or event
+     * @param description the slot or event, for the message
+     */
+    private static void checkNotIndexed(int index, String description) {
+        if (index != -1) {
+            throw new IllegalStateException(description + " already belongs to a built instance.");
+        }
+    }
+
+    Weights getWeights() {
+        return weights;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /*
+     * Get a read-only view of all slots added so far, keyed by slot id.
+     */
+    public Map<String, Slot> getSlots() {
+        return Collections.unmodifiableMap(slots);
+    }
+
+    /*
+     * Get a read-only view of all events added so far, keyed by event id.
+     */
+    public Map<String, Event> getEvents() {
+        return Collections.unmodifiableMap(events);
+    }
+
+    LinkedHashMap<Event, Slot> getPartialAssignment() {
+        return partialAssignment;
+    }
+
+    List<Event[]> getNotCompatible() {
+        return notCompatible;
+    }
+
+    /*
+     * Get a slot by its day, time, and type.
+     *
+     * @returns the slot with the given identifier, or null if it does not exist
+     */
+    public Slot getSlot(String day, String startTime, String type) {
+
+        Slot slot = slots.get(day + " " + startTime + " " + type);
+
+        if (slot == null) {
+            System.err.println("Slot " + day + " " + startTime + " " + type + " does not exist.");
+        }
+
+        return slot;
+    }
+
+    /*
+     * Get an event by its identifier.
+     *
+     * @param eventId the identifier of the event
+     * @returns the event with the given identifier, or null if it does not exist
+     */
+    public Event getEvent(String eventId) {
+
+        Event event = events.get(eventId);
+
+        if (event == null) {
+            System.err.println("Event " + eventId + " does not exist.");
+        }
+
+        return event;
+    }
+
+    /*
+     * Set the name of the instance.
+     */
+    public void setName(String name) {
+        checkNotBuilt();
+        this.name = name;
+    }
+
+    /*
+     * Add a slot to the instance.
+     *
+     * @param slot the slot to add, which must not belong to a built instance yet
+     */
+    public void addSlot(Slot slot) {
+        checkNotBuilt();
+        checkNotIndexed(slot.getIndex(), "Slot " + slot.getId());
+        slots.put(slot.getId(), slot);
+    }
+
+    /*
+     * Add an event to the instance.
+     *
+     * @param event the event to add, which must not belong to a built instance yet
+     */
+    public void addEvent(Event event) {
+
+        checkNotBuilt();
+        checkNotIndexed(event.getIndex(), "Event " + event.getId());
+
+        // If event is already in the instance, print error and don't add it again
+        if (events.containsKey(event.getId())) {
+            System.err.println("Event " + event.getId() + " already exists.");
+
+        }
+
+        // Otherwise, add the event to the instance
+        else {
+            events.put(event.getId(), event);
+
+            // If this is a special game CMSA U12T1 or U13T1
+            if (event.isGame() && event.getDivision().getLeague().equals("CMSA")) {
+                String gameTier = event.getDivision().getTier();
+                if (gameTier.equals("U12T1") || gameTier.equals("U13T1")) {
+
+                    // Add the required special practice
+                    try {
+                        Event specialPractice = new Event("CMSA " + gameTier + "S", false);
+                        addEvent(specialPractice);
+
+                        Slot specialSlot = getSlot("TU", "18:00", "practice");
+
+                        if (specialSlot == null) {
+                            System.err.println("Error: Required slot does not exist for special practice event " + specialPractice.getId());
+                        }
+
+                        partialAssignment.put(specialPractice, specialSlot);
+
+                    } catch (Exception e) {
+                        System.err.println("Error creating special practice event for " + event.getId());
+                    }
+
+                }
+            }
+
+            // Finally, put the event into the HashMap of all events
+            events.put(event.getId(), event);
+        }
+    }
+
+    /*
+     * Add a not-compatible relationship between two events.
+     * The relationship takes effect when the instance is built.
+     *
+     * @param event1Id the identifier of the first event
+     * @param event2Id the identifier of the second event
+     */
+    public void addIncompatible(String event1Id, String event2Id) {
+
+        Event event1 = getEvent(event1Id);
+        Event event2 = getEvent(event2Id);
+
+        addIncompatible(event1, event2);
+    }
+
+    /*
+     * Add a not-compatible relationship between two events of this instance.
+     *
+     * @param event1 the first event, or null to ignore the relationship
+     * @param event2 the second event, or null to ignore the relationship
+     */
+    public void addIncompatible(Event event1, Event event2) {
+
+        checkNotBuilt();
+
+        // Ignore and return if either event is null
+        if (event1 == null || event2 == null) return;
+
+        notCompatible.add(new Event[] {event1, event2});
+    }
+
+    /*
+     * Add an unwanted date to an event in the instance.
+     *
+     * @param eventId the identifier of the event
+     * @param date the date of the unwanted slot
+     * @param time the time of the unwanted slot
+     */
+    public void addUnwanted(String eventId, String day, String startTime) {
+
+        // Get the event and only proceed if it is not null
+        Event event = getEvent(eventId);
+        if (event == null) return;
+
+        addUnwanted(event, findSlot(event, day, startTime));
+    }
+
+    /*
+     * Add an unwanted slot to an event in the instance.
+     *
+     * @param event the event, or null to ignore the unwanted slot
+     * @param slot the unwanted slot, or null to ignore the unwanted slot
+     */
+    public void addUnwanted(Event event, Slot slot) {
+
+        checkNotBuilt();
+
+        // Only add unwanted slot if both exist and the slot type matches
+        if (event != null && slot != null && event.isGame() == slot.isGameSlot()) {
+            event.setUnwanted(slot);
+        }
+    }
+
+    /*
+     * Add a preference for a timeslot to an event in the instance.
+     *
+     *
+     */
+    public void addPreference(String eventId, String day, String startTime, int weight) {
+
+        Event event = getEvent(eventId);
+        if (event == null) return;
+
+        addPreference(event, findSlot(event, day, startTime), weight);
+    }
+
+    /*
+     * Add a preference for a slot to an event in the instance.
+     *
+     * @param event the event, or null to ignore the preference
+     * @param slot the preferred slot, or null to ignore the preference
+     * @param weight the penalty for not scheduling the event in the slot
+     */
+    public void addPreference(Event event, Slot slot, int weight) {
+
+        checkNotBuilt();
+
+        // Only add preference if both exist and the slot type matches
+        if (event != null && slot != null && event.isGame() == slot.isGameSlot()) {
+            event.setPreference(slot, weight);
+        }
+    }
+
+    /*
+     * Find the slot of the event's type (game or practice) on a day and start time, without reporting a missing slot.
+     */
+    private Slot findSlot(Event event, String day, String startTime) {
+        return slots.get(day + " " + startTime + (event.isGame() ? " game" : " practice"));
+    }
+
+    /*
+     * Add a pair relationship between two events in the instance
+     *
+     * @param event1Id the identifier of the first event
+     * @param event2Id the identifier of the second event
+     */
+    public void addPair(String event1Id, String event2Id) {
+
+        addPair(getEvent(event1Id), getEvent(event2Id));
+    }
+
+    /*
+     * Add a pair relationship between two events in the instance
+     *
+     * @param event1 the first event, or null to ignore the pair
+     * @param event2 the second event, or null to ignore the pair
+     */
+    public void addPair(Event event1, Event event2) {
+
+        checkNotBuilt();
+
+        // Only add pair if both events exist
+        if (event1 != null && event2 != null) {
+            event1.setPair(event2);
+            event2.setPair(event1);
+        }
+    }
+
+    /*
+     * Add a partial assignment of an event to a slot in the instance.
+     *
+     * @param eventId the identifier of the event
+     * @param day the day of the slot
+     * @param startTime the start time of the slot
+     */
+    public void addPartialAssignment(String eventId, String day, String startTime) throws Exception {
+
+        // Get event and return with error message if null
+        Event event = getEvent(eventId);
+        if (event == null) {
+            throw new Exception("Failed to add partial assignment. Event " + eventId + " does not exist.");
+        }
+
+        // Get slot and return with error message if null
+        Slot slot = getSlot(day, startTime, event.isGame() ? "game" : "practice");
+        if (slot == null) {
+            throw new Exception("Failed to add partial assignment." + "No " + event.getEventType() + " slot on " + day + " at " + startTime + " found.");
+        }
+
+        addPartialAssignment(event, slot);
+    }
+
+    /*
+     * Add a partial assignment of an event to a slot in the instance.
+     *
+     * @param event the event
+     * @param slot the slot the event is fixed to
+     */
+    public void addPartialAssignment(Event event, Slot slot) throws Exception {
+
+        checkNotBuilt();
+
+        if (partialAssignment.containsKey(event)) {
+            throw new Exception("Failed to add partial assignment. Event " + event.getId() + " already has a partial assignment.");
+        }
+
+        partialAssignment.put(event, slot);
+    }
+
+    /*
+     * Add an event exactly as given, without the special practices a CMSA U12T1 or U13T1 game would add.
+     * Used to rebuild an instance whose events are already complete.
+     */
+    void putEvent(Event event) {
+        checkNotBuilt();
+        checkNotIndexed(event.getIndex(), "Event " + event.getId());
+        events.put(event.getId(), event);
+    }
+
+    /*
+     * Add a partial assignment exactly as given, including one to a missing (null) slot.
+     * Used to rebuild an instance whose partial assignments are already complete.
+     */
+    void putPartialAssignment(Event event, Slot slot) {
+        checkNotBuilt();
+        partialAssignment.put(event, slot);
+    }
+}
@@ -0,0 +1,362 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.scheduler.Debug;
+
+/*
+ * Saves a fully built Instance to a compact binary file and loads it back, so an input file that is solved
+ * many times (for example with different weights) only has to be parsed once.
+ *
+ * The snapshot stores everything the input file describes, after the parser and InstanceBuilder.build() have worked it out:
+ * the slots, the events (whose ids carry their divisions), the incompatibility bitsets, the unwanted slots,
+ * the preferences, the pairs and the partial assignments, including the special practices added for CMSA
+ * U12T1 and U13T1. The weights and penalties are not stored, since they are given on every run.
+ *
+ * The file starts with a magic number, the format version and the SHA-256 hash of the input file it was built
+ * from. A snapshot with another version or hash is stale and is not loaded. All numbers are big-endian, and the
+ * fixed-width tables are read through IntBuffer and LongBuffer views of the mapped file rather than one value at a time.
+ *
+ * Layout:
+ * - int magic, int version, 32 byte hash of the input file, long length of the input file
+ * - string name
+ * - int slot count, then per slot: byte game (1) or practice (0), string day, string start time, int max, int min
+ * - int event count, then per event: byte game (1) or practice (0), string id
+ * - int words per row, then event count rows of that many longs: the incompatibility matrix
+ * - int count, then (int event, int slot) per unwanted slot
+ * - int count, then (int event, int slot, int weight) per preference
+ * - int count, then (int event, int event) per pair
+ * - int count, then (int event, int slot or -1 if the slot is missing) per partial assignment, in order
+ *
+ * A string is an int byte length (-1 for null) followed by its UTF-8 bytes.
+ */
+public final class InstanceSnapshot {
+
+    /*
+     * "SNPS" in ASCII.
+     */
+    private static final int MAGIC = 0x534E5053;
+
+    /*
+     * Must be increased whenever the layout, or the way InstanceBuilder.build() builds an instance, changes.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HASH_LENGTH = 32;
+
+    private InstanceSnapshot() {
+    }
+
+    /*
+     * Write a snapshot of a built instance.
+     * The snapshot is written to a temporary file first and then moved into place, so a reader never sees half a snapshot.
+     *
+     * @param instance the instance, as returned by a parser
+     * @param inputFile the input file the instance was parsed from
+     * @param snapshotFile the file to write the snapshot to
+     * @throws IOException if the input file can't be read or the snapshot can't be written
+     */
+    public static void write(Instance instance, File inputFile, File snapshotFile) throws IOException {
+
+        File directory = snapshotFile.getAbsoluteFile().getParentFile();
+        File temporary = File.createTempFile(snapshotFile.getName(), ".tmp", directory);
+
+        try {
+            try (OutputStream stream = Files.newOutputStream(temporary.toPath());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+                write(instance, hash(inputFile), inputFile.length(), out);
+            }
+
+            Files.move(temporary.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } finally {
+            Files.deleteIfExists(temporary.toPath());
+        }
+
+        Debug.info(() -> "Wrote snapshot " + snapshotFile.getName() + " of " + inputFile.getName());
+    }
+
+    private static void write(Instance instance, byte[] inputHash, long inputLength, DataOutputStream out) throws IOException {
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.write(inputHash);
+        out.writeLong(inputLength);
+
+        writeString(out, instance.getName());
+
+        int slotCount = instance.getSlotCount();
+        out.writeInt(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+
+            Slot slot = instance.getSlotByIndex(i);
+
+            out.writeByte(slot.isGameSlot() ? 1 : 0);
+            writeString(out, slot.getDay());
+            // The id is "<day> <start time> <type>", and keeps the start time as it was written in the input
+            writeString(out, slot.getId().split(" ")[1]);
+            out.writeInt(slot.getMax());
+            out.writeInt(slot.getMin());
+        }
+
+        int eventCount = instance.getEventCount();
+        out.writeInt(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+
+            Event event = instance.getEventByIndex(i);
+
+            out.writeByte(event.isGame() ? 1 : 0);
+            writeString(out, event.getId());
+        }
+
+        long[][] incompatibilities = instance.getIncompatibleMatrix();
+        int words = (eventCount + 63) >>> 6;
+        out.writeInt(words);
+        for (long[] row : incompatibilities) {
+            for (long word : row) {
+                out.writeLong(word);
+            }
+        }
+
+        int unwanted = 0;
+        for (int i = 0; i < eventCount; i++) {
+            unwanted += instance.getEventByIndex(i).getUnwanteds().size();
+        }
+        out.writeInt(unwanted);
+        for (int i = 0; i < eventCount; i++) {
+            for (Slot slot : instance.getEventByIndex(i).getUnwanteds()) {
+                out.writeInt(i);
+                out.writeInt(slot.getIndex());
+            }
+        }
+
+        int preferences = 0;
+        for (int i = 0; i < eventCount; i++) {
+            preferences += instance.getEventByIndex(i).getPreferences().size();
+        }
+        out.writeInt(preferences);
+        for (int i = 0; i < eventCount; i++) {
+            for (Map.Entry<Slot, Integer> preference : instance.getEventByIndex(i).getPreferences().entrySet()) {
+                out.writeInt(i);
+                out.writeInt(preference.getKey().getIndex());
+                out.writeInt(preference.getValue());
+            }
+        }
+
+        // Pairs are symmetric, so each is written once, from the event with the lower index
+        int pairs = 0;
+        for (int i = 0; i < eventCount; i++) {
+            for (Event other : instance.getEventByIndex(i).getPairs()) {
+                if (i <= other.getIndex()) {
+                    pairs++;
+                }
+            }
+        }
+        out.writeInt(pairs);
+        for (int i = 0; i < eventCount; i++) {
+            for (Event other : instance.getEventByIndex(i).getPairs()) {
+                if (i <= other.getIndex()) {
+                    out.writeInt(i);
+                    out.writeInt(other.getIndex());
+                }
+            }
+        }
+
+        Map<Event, Slot> partialAssignment = instance.getPartialAssignment();
+        out.writeInt(partialAssignment.size());
+        for (Map.Entry<Event, Slot> assignment : partialAssignment.entrySet()) {
+            out.writeInt(assignment.getKey().getIndex());
+            out.writeInt(assignment.getValue() == null ? -1 : assignment.getValue().getIndex());
+        }
+    }
+
+    /*
+     * Load the snapshot of an input file, if there is an up-to-date one.
+     *
+     * @param snapshotFile the snapshot file
+     * @param inputFile the input file the snapshot must have been built from
+     * @param wMinFilled ... penSection the weights and penalties of the instance
+     * @returns the built instance, or null if the snapshot does not exist, has another version or was built from a different input
+     * @throws IOException if a file can't be read or the snapshot is corrupt
+     */
+    public static Instance read(File snapshotFile, File inputFile, int wMinFilled, int wPref, int wPair, int wSecDiff, int penGameMin, int penPracticeMin, int penNotPaired, int penSection) throws IOException {
+
+        if (!snapshotFile.isFile()) {
+            Debug.info(() -> "No snapshot " + snapshotFile.getName() + " found.");
+            return null;
+        }
+
+        ByteBuffer buffer = map(snapshotFile);
+
+        try {
+            if (buffer.remaining() < 8 + HASH_LENGTH + 8 || buffer.getInt() != MAGIC) {
+                throw new IOException("Snapshot " + snapshotFile.getName() + " is not a snapshot file.");
+            }
+
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                Debug.info(() -> "Snapshot " + snapshotFile.getName() + " has version " + version + ", expected " + VERSION + ".");
+                return null;
+            }
+
+            byte[] snapshotHash = new byte[HASH_LENGTH];
+            buffer.get(snapshotHash);
+            long inputLength = buffer.getLong();
+
+            // Compare the lengths first, so a changed input file is usually noticed without hashing it
+            if (inputLength != inputFile.length() || !Arrays.equals(snapshotHash, hash(inputFile))) {
+                Debug.info(() -> "Snapshot " + snapshotFile.getName() + " was built from a different version of " + inputFile.getName() + ".");
+                return null;
+            }
+
+            InstanceBuilder builder = new InstanceBuilder(wMinFilled, wPref, wPair, wSecDiff, penGameMin, penPracticeMin, penNotPaired, penSection);
+            builder.setName(readString(buffer));
+
+            Slot[] slots = new Slot[buffer.getInt()];
+            for (int i = 0; i < slots.length; i++) {
+
+                boolean isGameSlot = buffer.get() == 1;
+                String day = readString(buffer);
+                String startTime = readString(buffer);
+
+                slots[i] = new Slot(isGameSlot, day, startTime, buffer.getInt(), buffer.getInt());
+                builder.addSlot(slots[i]);
+            }
+
+            Event[] events = new Event[buffer.getInt()];
+            for (int i = 0; i < events.length; i++) {
+
+                boolean isGame = buffer.get() == 1;
+
+                try {
+                    events[i] = new Event(readString(buffer), isGame);
+                } catch (Exception e) {
+                    throw new IOException("Snapshot " + snapshotFile.getName() + " is corrupt: " + e.getMessage());
+                }
+
+                builder.putEvent(events[i]);
+            }
+
+            int words = buffer.getInt();
+            if (words != (events.length + 63) >>> 6) {
+                throw new IOException("Snapshot " + snapshotFile.getName() + " is corrupt: wrong incompatibility row length.");
+            }
+
+            LongBuffer longs = buffer.asLongBuffer();
+            long[][] incompatibilities = new long[events.length][words];
+            for (long[] row : incompatibilities) {
+                longs.get(row);
+            }
+            buffer.position(buffer.position() + events.length * words * Long.BYTES);
+
+            IntBuffer ints = buffer.asIntBuffer();
+
+            for (int count = ints.get(); count > 0; count--) {
+                builder.addUnwanted(events[ints.get()], slots[ints.get()]);
+            }
+
+            for (int count = ints.get(); count > 0; count--) {
+                builder.addPreference(events[ints.get()], slots[ints.get()], ints.get());
+            }
+
+            for (int count = ints.get(); count > 0; count--) {
+                builder.addPair(events[ints.get()], events[ints.get()]);
+            }
+
+            for (int count = ints.get(); count > 0; count--) {
+                Event event = events[ints.get()];
+                int slot = ints.get();
+                builder.putPartialAssignment(event, slot < 0 ? null : slots[slot]);
+            }
+
+            Instance instance = builder.build(incompatibilities);
+
+            Debug.info(() -> "Loaded snapshot " + snapshotFile.getName() + " of " + inputFile.getName());
+
+            return instance;
+
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Snapshot " + snapshotFile.getName() + " is corrupt: it ends early or refers to a missing slot or event.");
+        }
+    }
+
+    /*
+     * Returns the SHA-256 hash of the contents of a file.
+     */
+    private static byte[] hash(File file) throws IOException {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+
+        digest.update(map(file));
+
+        return digest.digest();
+    }
+
+    /*
+     * Maps a whole file into memory, read-only.
+     */
+    private static ByteBuffer map(File file) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File " + file.getName() + " is too large to map (over 2 GB).");
+            }
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
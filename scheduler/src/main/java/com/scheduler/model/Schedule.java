@@ -0,0 +1,1002 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.scheduler.Debug;
+
+/*
+ * Represents a schedule of events for a soccer league.
+ */
+public class Schedule {
+
+    /*
+     * The instance the schedule is for.
+     */
+    private final Instance instance;
+
+    /*
+     * The index of the slot each event is assigned to (by event index), or -1 if unassigned.
+     */
+    private int[] eventToSlot;
+
+    /*
+     * The number of events assigned to each slot (by slot index).
+     */
+    private int[] slotFill;
+
+    /*
+     * For each slot, a bitset of the events assigned to any slot that overlaps it: bit j of word w of slot i is
+     * at occupancy[i * eventWords + w], and is set if event 64 * w + j is in a slot overlapping slot i.
+     * Checking an event against its incompatible events is then an AND with the event's incompatibility row.
+     */
+    private long[] occupancy;
+
+    /*
+     * The number of 64-event words per slot in occupancy.
+     */
+    private final int eventWords;
+
+    /*
+     * True while eventToSlot, slotFill and occupancy may be shared with a schedule derived from this one (or the one
+     * this was derived from). Shared arrays are copied before the first change.
+     */
+    private boolean sharedArrays = false;
+
+    /*
+     * Is this schedule a partial assignment?
+     */
+    private final boolean isPartialAssignment;
+
+    /*
+     * Incrementally maintained evaluation of the schedule, or null until eval() is first called.
+     */
+    private ScheduleEvaluator evaluator;
+
+    /*
+     * Constructor for the Schedule class.
+     * 
+     * @param instance the instance to create the schedule for
+     */
+    public Schedule(Instance instance, boolean isPartialAssignment) {
+
+        this.instance = instance;
+        this.isPartialAssignment = isPartialAssignment;
+        this.eventWords = (instance.getEventCount() + 63) >>> 6;
+
+        // A full schedule starts out with everything in the partial assignment already assigned
+        if (isPartialAssignment) {
+            eventToSlot = new int[instance.getEventCount()];
+            Arrays.fill(eventToSlot, -1);
+            slotFill = new int[instance.getSlotCount()];
+            occupancy = new long[instance.getSlotCount() * eventWords];
+        } else {
+            Schedule partialSchedule = instance.getSharedPartialSchedule();
+            eventToSlot = partialSchedule.eventToSlot.clone();
+            slotFill = partialSchedule.slotFill.clone();
+            occupancy = partialSchedule.occupancy.clone();
+        }
+    }
+
+    /*
+     * Constructor for the Schedule class that defaults to a non-partial assignment.
+     */
+    public Schedule(Instance instance) {
+        this(instance, false);
+    }
+
+    /*
+     * Copy constructor for the Schedule class.
+     *
+     * @param other the schedule to copy
+     */
+    public Schedule(Schedule other) {
+        this(other, other.instance);
+    }
+
+    /*
+     * Copy constructor for the Schedule class, for the same assignment in an instance with the same slots and events.
+     *
+     * @param other the schedule to copy
+     * @param instance the instance the copy is for
+     */
+    Schedule(Schedule other, Instance instance) {
+
+        this.instance = instance;
+        this.isPartialAssignment = other.isPartialAssignment;
+        this.eventWords = other.eventWords;
+
+        eventToSlot = other.eventToSlot.clone();
+        slotFill = other.slotFill.clone();
+        occupancy = other.occupancy.clone();
+
+        // The evaluator keeps unweighted counts, so it carries over to an instance with other weights
+        if (other.evaluator != null) {
+            evaluator = new ScheduleEvaluator(other.evaluator, this);
+        }
+    }
+
+    /*
+     * Copy-on-write constructor: the new schedule shares the assignment arrays of the parent until either of them changes.
+     */
+    private Schedule(Schedule parent, boolean copyOnWrite) {
+
+        this.instance = parent.instance;
+        this.isPartialAssignment = parent.isPartialAssignment;
+        this.eventWords = parent.eventWords;
+
+        eventToSlot = parent.eventToSlot;
+        slotFill = parent.slotFill;
+        occupancy = parent.occupancy;
+        sharedArrays = true;
+        parent.sharedArrays = true;
+
+        if (parent.evaluator != null) {
+            evaluator = new ScheduleEvaluator(parent.evaluator, this);
+        }
+    }
+
+    /*
+     * Derives a child schedule that starts out identical to this one. Deriving takes constant time: the
+     * assignment is only copied when the child (or this schedule) is first changed, so changing the child
+     * never changes this schedule.
+     *
+     * Both schedules must stay on the same thread; use the copy constructor to hand a schedule to another thread.
+     *
+     * @returns the derived schedule
+     */
+    public Schedule derive() {
+        return new Schedule(this, true);
+    }
+
+    /*
+     * Gives this schedule its own copy of the assignment arrays before they are changed, if they are shared.
+     */
+    private void ensureOwnArrays() {
+
+        if (sharedArrays) {
+            eventToSlot = eventToSlot.clone();
+            slotFill = slotFill.clone();
+            occupancy = occupancy.clone();
+            sharedArrays = false;
+        }
+    }
+
+    /*
+     * Sets or clears an event's bit in the occupancy of every slot that overlaps the slot it is in.
+     *
+     * @param eventIndex the index of the event
+     * @param slotIndex the index of the slot the event is placed in or removed from
+     * @param placed true if the event is placed in the slot, false if it is removed
+     */
+    private void occupy(int eventIndex, int slotIndex, boolean placed) {
+
+        int word = eventIndex >>> 6;
+        long bit = 1L << eventIndex;
+        int slotWords = (instance.getSlotCount() + 63) >>> 6;
+
+        for (int w = 0; w < slotWords; w++) {
+            for (long bits = instance.overlapWord(slotIndex, w); bits != 0; bits &= bits - 1) {
+
+                int other = (w << 6) + Long.numberOfTrailingZeros(bits);
+
+                if (placed) {
+                    occupancy[other * eventWords + word] |= bit;
+                } else {
+                    occupancy[other * eventWords + word] &= ~bit;
+                }
+            }
+        }
+    }
+
+    /*
+     * Returns the index of an event that is not compatible with the given event and is in a slot overlapping the
+     * given slot, or -1 if there is none.
+     */
+    private int conflictingEvent(Event event, int slotIndex) {
+
+        long[] row = event.getIncompatibleRow();
+        int base = slotIndex * eventWords;
+
+        for (int w = 0; w < row.length; w++) {
+
+            long conflicts = row[w] & occupancy[base + w];
+
+            if (conflicts != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(conflicts);
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * Get the instance the schedule is for.
+     */
+    public Instance getInstance() {
+        return instance;
+    }
+
+    /*
+     * Get all events of the instance, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Event> getAllEvents() {
+        return instance.getEventList();
+    }
+
+    /*
+     * Get all events that have been assigned.
+     */
+    public HashSet<Event> getAssignedEvents() {
+
+        HashSet<Event> assignedEvents = new HashSet<>();
+
+        // Get all assigned events (including the partial assignment for full schedules)
+        for (int i = nextAssignedEvent(0); i >= 0; i = nextAssignedEvent(i + 1)) {
+            assignedEvents.add(instance.getEventByIndex(i));
+        }
+
+        return assignedEvents;
+    }
+
+    /*
+     * Returns the index of the first assigned event at or after an event index, or -1 if there is none.
+     * Loops over the assigned events without allocating:
+     *     for (int i = schedule.nextAssignedEvent(0); i >= 0; i = schedule.nextAssignedEvent(i + 1))
+     *
+     * @param fromIndex the event index to start looking at
+     */
+    public int nextAssignedEvent(int fromIndex) {
+
+        for (int i = fromIndex; i < eventToSlot.length; i++) {
+            if (eventToSlot[i] >= 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * Returns the index of the first unassigned event at or after an event index, or -1 if there is none.
+     *
+     * @param fromIndex the event index to start looking at
+     */
+    public int nextUnassignedEvent(int fromIndex) {
+
+        for (int i = fromIndex; i < eventToSlot.length; i++) {
+            if (eventToSlot[i] < 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * Calls an action for every assigned event and its slot, in event index order, without allocating.
+     *
+     * @param action the action to call
+     */
+    public void forEachAssignment(BiConsumer<Event, Slot> action) {
+        for (int i = nextAssignedEvent(0); i >= 0; i = nextAssignedEvent(i + 1)) {
+            action.accept(instance.getEventByIndex(i), instance.getSlotByIndex(eventToSlot[i]));
+        }
+    }
+
+    /*
+     * Get all events that have not yet been assigned to a slot.
+     */
+    public HashSet<Event> getUnassignedEvents() {
+
+        Debug.debug("Getting unassigned events...");
+
+        HashSet<Event> unscheduledEvents = new HashSet<>();
+
+        for (int i = nextUnassignedEvent(0); i >= 0; i = nextUnassignedEvent(i + 1)) {
+            unscheduledEvents.add(instance.getEventByIndex(i));
+        }
+
+        Debug.debug(() -> "size: " + unscheduledEvents.size());
+
+        return unscheduledEvents;
+    }
+
+    /*
+     * Get the next event to schedule.
+     */
+    public ArrayList<Event> getSchedulingOrder() {
+
+        HashSet<Event> eveningGames = new HashSet<>();
+
+        HashSet<Event> eveningPractices = new HashSet<>();
+
+        HashSet<Event> remainingGames = new HashSet<>();
+
+        HashSet<Event> remainingPractices = new HashSet<>();
+
+        ArrayList<Event> unassignedEvents = new ArrayList<>(getUnassignedEvents());
+
+        for (int i = 0; i < unassignedEvents.size(); i++) {
+
+            Event event = unassignedEvents.get(i);
+
+            Debug.debug(() -> "putting event in order: " + event);
+
+            if (event.isEvening()) {
+                if (event.isGame()) {
+                    eveningGames.add(event);
+                } else {
+                    eveningPractices.add(event);
+                }
+            } else {
+                if (event.isGame()) {
+                    remainingGames.add(event);
+                } else {
+                    remainingPractices.add(event);
+                }
+            }
+            
+        }
+
+        ArrayList<Event> eventOrder = new ArrayList<>();
+
+        eventOrder.addAll(eveningGames);
+        eventOrder.addAll(eveningPractices);
+        eventOrder.addAll(remainingGames);
+        eventOrder.addAll(remainingPractices);
+
+        return eventOrder;
+    }
+
+    /*
+     * Get a random reassignable (mutable) event.
+     *
+     * @param random the random number generator to pick the event with
+     */
+    public Event getRandomMutableEvent(SplittableRandom random) {
+
+            if (isPartialAssignment) {
+                System.err.println("Error: Attempted to get mutable events from a partial assignment.");
+                return null;
+            }
+
+            // Pick uniformly among every assigned event that is not fixed by the partial assignment, in index order,
+            // by counting them first and then walking to the chosen one
+            int count = 0;
+
+            for (int i = nextAssignedEvent(0); i >= 0; i = nextAssignedEvent(i + 1)) {
+                if (isMutable(i)) {
+                    count++;
+                }
+            }
+
+            if (count == 0) {
+                System.err.println("Error: Attempted to get mutable event but no mutable events could be found.");
+                return null;
+            }
+
+            int chosen = random.nextInt(count);
+
+            for (int i = nextAssignedEvent(0); ; i = nextAssignedEvent(i + 1)) {
+                if (isMutable(i) && chosen-- == 0) {
+                    return instance.getEventByIndex(i);
+                }
+            }
+
+    }
+
+    /*
+     * Returns true if the event with the given index is not fixed by the partial assignment.
+     */
+    private boolean isMutable(int eventIndex) {
+        return instance.getSharedPartialSchedule().eventToSlot[eventIndex] < 0;
+    }
+
+    /*
+     * Get all events that have been assigned to a given slot.
+     * 
+     * @param slot the slot to get the events for
+     * @returns a HashSet of events assigned to the slot
+     */
+    public HashSet<Event> getEventsFromSlot(Slot slot) {
+
+        HashSet<Event> events = new HashSet<>();
+
+        if (!instance.containsSlot(slot)) {
+            return events;
+        }
+
+        // Add every event assigned to the slot to the list
+        for (int i = nextEventInSlot(slot.getIndex(), 0); i >= 0; i = nextEventInSlot(slot.getIndex(), i + 1)) {
+            events.add(instance.getEventByIndex(i));
+        }
+
+        return events;
+    }
+
+    /*
+     * Returns the index of the first event at or after an event index that is assigned to a slot, or -1 if there is none.
+     * Loops over the events of a slot without allocating:
+     *     for (int i = schedule.nextEventInSlot(slotIndex, 0); i >= 0; i = schedule.nextEventInSlot(slotIndex, i + 1))
+     *
+     * @param slotIndex the index of the slot
+     * @param fromIndex the event index to start looking at
+     */
+    public int nextEventInSlot(int slotIndex, int fromIndex) {
+
+        for (int i = fromIndex; i < eventToSlot.length; i++) {
+            if (eventToSlot[i] == slotIndex) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * Calls an action for every event assigned to a slot, in event index order, without allocating.
+     *
+     * @param slot the slot
+     * @param action the action to call
+     */
+    public void forEachEventInSlot(Slot slot, Consumer<Event> action) {
+
+        if (!instance.containsSlot(slot)) {
+            return;
+        }
+
+        for (int i = nextEventInSlot(slot.getIndex(), 0); i >= 0; i = nextEventInSlot(slot.getIndex(), i + 1)) {
+            action.accept(instance.getEventByIndex(i));
+        }
+    }
+
+    /*
+     * Get the number of events that have been assigned to a given slot.
+     *
+     * @param slot the slot to get the number of events for
+     * @returns the number of events assigned to the slot
+     */
+    public int getFill(Slot slot) {
+        return slotFill[slot.getIndex()];
+    }
+
+    /*
+     * Get the number of events in a slot that count towards its maximum.
+     * The partial assignment is checked against slot maximums on its own, so in a full schedule
+     * only the events assigned on top of it count.
+     *
+     * @param slotIndex the index of the slot
+     * @returns the number of events counting towards the slot's maximum
+     */
+    private int maxFill(int slotIndex) {
+
+        if (isPartialAssignment) {
+            return slotFill[slotIndex];
+        }
+
+        return slotFill[slotIndex] - instance.getSharedPartialSchedule().slotFill[slotIndex];
+    }
+
+    /*
+     * Get the slot that an event is assigned to.
+     * 
+     * @param event the event to get the slot for
+     * @returns the slot the event is assigned to
+     */
+    public Slot getSlotFromEvent(Event event) {
+
+        int slotIndex = eventToSlot[event.getIndex()];
+
+        return slotIndex < 0 ? null : instance.getSlotByIndex(slotIndex);
+    }
+
+    /*
+     * Get the index of the slot an event is assigned to.
+     *
+     * @param eventIndex the index of the event
+     * @returns the index of the slot, or -1 if the event is unassigned
+     */
+    public int getSlotIndex(int eventIndex) {
+        return eventToSlot[eventIndex];
+    }
+
+    /*
+     * Get all slots, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Slot> getAllSlots() {
+        return instance.getSlotList();
+    }
+
+    /*
+     * Get all game slots, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Slot> getGameSlots() {
+        return instance.getGameSlotList();
+    }
+
+    /*
+     * Get all practice slots, in index order. The list is a read-only view and is not copied.
+     */
+    public List<Slot> getPracticeSlots() {
+        return instance.getPracticeSlotList();
+    }
+
+    /*
+     * Get all slots that are not yet full.
+     */
+    public HashSet<Slot> getAllAvailableSlots() {
+
+        HashSet<Slot> availableSlots = new HashSet<>();
+
+        // Add available slots to the list
+        for (Slot slot : getAllSlots()) {
+            if (slotAvailable(slot)) {
+                availableSlots.add(slot);
+            }
+        }
+
+        // Return list of available slots
+        return availableSlots;
+    }
+
+    /*
+     * Get all game slots that are not yet full.
+     */
+    public HashSet<Slot> getAvailableGameSlots() {
+
+        HashSet<Slot> availableGameSlots = new HashSet<>();
+
+        // Add available game slots to the list
+        for (Slot slot : getGameSlots()) {
+            if (slotAvailable(slot)) {
+                availableGameSlots.add(slot);
+            }
+        }
+
+        // Return list of available game slots
+        return availableGameSlots;
+    }
+
+    /*
+     * Get all practice slots that are not yet full.
+     */
+    public HashSet<Slot> getAvailablePracticeSlots() {
+
+        HashSet<Slot> availablePracticeSlots = new HashSet<>();
+
+        // Add available practice slots to the list
+        for (Slot slot : getPracticeSlots()) {
+            if (slotAvailable(slot)) {
+                availablePracticeSlots.add(slot);
+            }
+        }
+
+        // Return list of available practice slots
+        return availablePracticeSlots;
+    }
+    
+    /*
+     * Check if a slot is available (not full)
+     * 
+     * @returns True if the slot is not full, false otherwise.
+     * @param slot the slot to check
+     */
+    public boolean slotAvailable(Slot slot) {
+
+        // If the slot is null, has <1 max, or not in the instance, return false
+        if (slot == null || slot.getMax() < 1 || !instance.containsSlot(slot)) {
+            return false;
+        }
+
+        // The slot is available if it has not yet reached its max
+        return maxFill(slot.getIndex()) < slot.getMax();
+    }
+
+    /*
+     * Check if the slot with the given index is available (not full).
+     *
+     * @param slotIndex the index of the slot to check
+     */
+    public boolean slotAvailable(int slotIndex) {
+        return maxFill(slotIndex) < instance.getSlotByIndex(slotIndex).getMax();
+    }
+
+    /*
+     * Get all slots that are compatible with an event.
+     * 
+     * @param event the event to get compatible slots for
+     * @returns a HashSet of slots that are compatible with the event
+     */
+    public HashSet<Slot> getCandidateSlots(Event event) {
+
+        HashSet<Slot> candidateSlots = new HashSet<>();
+
+        for (int slotIndex : instance.getStaticDomain(event)) {
+            if (isCandidate(event, slotIndex)) {
+                candidateSlots.add(instance.getSlotByIndex(slotIndex));
+            }
+        }
+
+        return candidateSlots;
+    }
+
+    /*
+     * Get the indices of all slots that are compatible with an event, without allocating.
+     *
+     * @param event the event to get compatible slots for
+     * @param candidates the array to write the slot indices to (in ascending order), with room for every slot of the instance
+     * @returns the number of slot indices written
+     */
+    public int getCandidateSlots(Event event, int[] candidates) {
+
+        int count = 0;
+
+        for (int slotIndex : instance.getStaticDomain(event)) {
+            if (isCandidate(event, slotIndex)) {
+                candidates[count++] = slotIndex;
+            }
+        }
+
+        return count;
+    }
+
+    /*
+     * Returns true if an event could be assigned to a slot from its static domain right now: the slot has room
+     * and no incompatible event is in an overlapping slot. The static checks of Event.isCompatible are already
+     * part of the domain, so they are not repeated.
+     */
+    private boolean isCandidate(Event event, int slotIndex) {
+
+        Slot slot = instance.getSlotByIndex(slotIndex);
+
+        if (maxFill(slotIndex) >= slot.getMax()) {
+            Debug.trace(() -> "Slot " + slot + " is not a candidate for " + event + ": slot is full.");
+            return false;
+        }
+
+        int conflict = conflictingEvent(event, slotIndex);
+
+        if (conflict >= 0) {
+            Debug.trace(() -> "Slot " + slot + " is not a candidate for " + event + ": incompatible overlap with " + instance.getEventByIndex(conflict));
+            return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Gets a random compatible slot for an event.
+     * 
+     * @param event the event to get a slot for
+     * @param random the random number generator to pick the slot with
+     * @returns a random compatible slot for the event
+     */
+    public Slot getRandomCandidateSlot(Event event, SplittableRandom random) {
+
+        Debug.trace(() -> "Getting random candidate slot for event: " + event);
+
+        int[] domain = instance.getStaticDomain(event);
+
+        // Count the candidates first and then walk to the chosen one, so no list of candidates is built
+        int count = 0;
+        for (int slotIndex : domain) {
+            if (isCandidate(event, slotIndex)) {
+                count++;
+            }
+        }
+
+        if (count > 0) {
+
+            int chosen = random.nextInt(count);
+
+            for (int slotIndex : domain) {
+                if (isCandidate(event, slotIndex) && chosen-- == 0) {
+
+                    Slot randomSlot = instance.getSlotByIndex(slotIndex);
+
+                    Debug.trace(() -> "Random candidate slot: " + randomSlot);
+
+                    return randomSlot;
+                }
+            }
+        }
+
+        Debug.trace(() -> "No compatible slots found for event: " + event);
+        return null;
+    }
+
+    /*
+     * Assign an event to a slot. Specify whether the assignment must be valid.
+     * 
+     * @returns True if the assignment was successful, false otherwise.
+     * 
+     * @param event the event to assign
+     * @param slot the slot to assign the event to
+     * @param requireValid true if the assignment must be valid, false if it can be invalid
+     */
+    public boolean assign(Event event, Slot slot, boolean requireValid) {
+
+        // If slot doesn't exist, fail and return false
+        if (!instance.containsSlot(slot)) {
+            Debug.debug(() -> "Error: Attempted to assign an event to a slot that is not in the instance: " + slot);
+            return false;
+        }
+        // If event doesn't exist, fail and return false
+        else if (!instance.containsEvent(event)) {
+            Debug.debug(() -> "Error: Attempted to assign an event that is not in the instance. " + event);
+            return false;
+        }
+        // If the event is fixed by the partial assignment, it can't be moved in a full schedule
+        else if (!isPartialAssignment && instance.isPartiallyAssigned(event)) {
+            Debug.debug(() -> "Error: Attempted to reassign an event fixed by the partial assignment: " + event);
+            return false;
+        }
+
+        ensureOwnArrays();
+
+        // If the event is already in a slot, remove it from that previous slot before assigning it to the new one
+        Slot prevSlot = getSlotFromEvent(event);
+        if (prevSlot != null) {
+            slotFill[prevSlot.getIndex()]--;
+            eventToSlot[event.getIndex()] = -1;
+            occupy(event.getIndex(), prevSlot.getIndex(), false);
+        }
+
+        // If this won't result in a valid assignment, then undo the changes and return
+        if (requireValid && !isPotentialAssignmentValid(event, slot)) {
+
+            // Undo changes by reassigning back to previous slot if necessary
+            if (prevSlot != null) {
+                slotFill[prevSlot.getIndex()]++;
+                eventToSlot[event.getIndex()] = prevSlot.getIndex();
+                occupy(event.getIndex(), prevSlot.getIndex(), true);
+            }
+
+            // Return false
+            return false;
+        }
+
+        // Otherwise, if all checks pass, add the event to the slot and return true
+        eventToSlot[event.getIndex()] = slot.getIndex();
+        slotFill[slot.getIndex()]++;
+        occupy(event.getIndex(), slot.getIndex(), true);
+
+        if (evaluator != null) {
+            evaluator.move(event, prevSlot, slot);
+        }
+
+        return true;
+    }
+
+    /*
+     * Assign an event to a slot (only permit if it is a valid assignment).
+     * 
+     * @returns True if the assignment was successful, false otherwise.
+     * 
+     * @param event the event to assign
+     * @param slot the slot to assign the event to
+     */
+    public boolean assign(Event event, Slot slot) {
+        return assign(event, slot, true);
+    }
+
+    /*
+     * Clear an event's assignment so it is no longer assigned to any slot.
+     * 
+     * @param event the event to unassign
+     */
+    public void clearAssignment(Event event) {
+            
+            // Events fixed by the partial assignment stay assigned in a full schedule
+            if (!isPartialAssignment && instance.isPartiallyAssigned(event)) {
+                return;
+            }
+
+            // Get the slot the event is assigned to
+            Slot slot = getSlotFromEvent(event);
+    
+            // If the event is assigned to a slot, remove it from the slot and the schedule
+            if (slot != null) {
+                ensureOwnArrays();
+                slotFill[slot.getIndex()]--;
+                eventToSlot[event.getIndex()] = -1;
+                occupy(event.getIndex(), slot.getIndex(), false);
+
+                if (evaluator != null) {
+                    evaluator.move(event, slot, null);
+                }
+            }
+    }
+
+    /*
+     * Returns true if the potential assignment won't cause any conflicts.
+     */
+    public boolean isPotentialAssignmentValid(Event event, Slot potentialSlot) {
+    
+            // Check if event is scheduled in a slot of the correct type (game vs practice slot)
+            if (event.isGame() != potentialSlot.isGameSlot()) {
+
+                Debug.trace("Validity check failed: Game/Practice mismatch.");
+
+                return false;
+            }
+
+            // Check if event is scheduled in an evening slot if necessary
+            if (event.isEvening() && !potentialSlot.isEvening()) {
+
+                Debug.trace("Validity check failed: Evening mismatch.");
+
+                return false;
+            }
+    
+            // Check if slot is overfilled past max
+            if (maxFill(potentialSlot.getIndex()) >= potentialSlot.getMax()) {
+
+                Debug.trace("Validity check failed: Slot is full.");
+
+                Debug.trace(() -> "Slot: " + potentialSlot + " \t\t# of Events: " + maxFill(potentialSlot.getIndex()) + " \t\tMax: " + potentialSlot.getMax());
+
+                return false;
+            }
+    
+            // Check that no incompatible event is in a slot overlapping this one
+            int conflict = conflictingEvent(event, potentialSlot.getIndex());
+
+            if (conflict >= 0) {
+
+                Debug.trace(() -> "Validity check failed: Incompatible overlap with " + instance.getEventByIndex(conflict) + " (in slot " + getSlotFromEvent(instance.getEventByIndex(conflict)) + ")");
+
+                return false;
+            }
+
+            // If none of those issues were found for any of the events, return true because the schedule would be valid
+            return true;
+    }
+
+    /*
+     * Returns true if all scheduled events are not conflicting.
+     */
+    public boolean valid() {
+
+        // Check each event that has been scheduled
+        for (int i = 0; i < eventToSlot.length; i++) {
+
+            if (eventToSlot[i] < 0) {
+                continue;
+            }
+
+            // Get event and slot
+            Event event = instance.getEventByIndex(i);
+            Slot slot = instance.getSlotByIndex(eventToSlot[i]);
+
+            // Check if event is scheduled in a slot of the correct type (game vs practice slot)
+            if (event.isGame() != slot.isGameSlot()) {
+
+                Debug.trace(() -> "Validity check failed: Game/Practice mismatch for " + event + " in " + slot);
+
+                return false;
+            }
+
+            // Check if event is scheduled in evening (if necessary)
+            if (event.isEvening() && !slot.isEvening()) {
+
+                Debug.trace(() -> "Validity check failed: Evening mismatch for " + event + " in " + slot);
+
+                return false;
+            }
+
+            // Check if slot is overfilled past max
+            if (maxFill(slot.getIndex()) > slot.getMax()) {
+
+                Debug.trace(() -> "Validity check failed: Slot is overfilled for " + event + " in " + slot);
+
+                return false;
+            }
+
+            // Check that no incompatible event is in a slot overlapping this one
+            int conflict = conflictingEvent(event, slot.getIndex());
+
+            if (conflict >= 0) {
+
+                Debug.trace(() -> "Validity check failed: Incompatible overlap with " + instance.getEventByIndex(conflict) + " in " + getSlotFromEvent(instance.getEventByIndex(conflict)) + " for " + event + " in " + slot);
+
+                return false;
+            }
+        }
+
+        // If none of those issues were found for any of the events, return true because the schedule is valid
+        return true;
+
+    }
+
+    /*
+     * Returns true if all events in the instance have been scheduled.
+     */
+    public boolean complete() {
+
+        // For each event in the instance
+        for (int slotIndex : eventToSlot) {
+
+            // If the event is not in the schedule, return false
+            if (slotIndex < 0) {
+                return false;
+            }
+        }
+
+        // If none of the events were missing, return true
+        return true;
+    }
+
+    /*
+     * Evaluate the schedule based on the instance's evaluation criteria.
+     * The first call evaluates the whole schedule, after which the value is kept up to date by every assignment change.
+     */
+    public int eval() {
+        return eval(instance.getWeights());
+    }
+
+    /*
+     * Evaluate the schedule with other weights and penalties than the instance's.
+     * The penalties are counted once and kept up to date as for eval(), so scoring one schedule under many weights is cheap.
+     *
+     * @param weights the weights and penalties to evaluate with
+     */
+    public int eval(Weights weights) {
+
+        if (evaluator == null) {
+            Debug.trace("Evaluating schedule...");
+            evaluator = new ScheduleEvaluator(this);
+        }
+
+        return evaluator.total(weights);
+    }
+
+    public void printSlotStatus(Slot slot) {
+            System.out.println(slot + "(max =" + slot.getMax() + ")" + " : " + getEventsFromSlot(slot));
+
+    }
+
+    @Override
+    public String toString() {
+            
+            StringBuilder sb = new StringBuilder();
+
+            sb.append("Eval-value: ");
+            sb.append(eval());
+            sb.append("\n");
+
+            int numEvents = 0;
+            
+            // Retrieve and sort events by id
+            List<Event> sortedEvents = new ArrayList<>(getAllEvents());
+            sortedEvents.sort(Comparator.comparing(Event::getId)); // Sort alphabetically by id
+    
+            for (Event event : sortedEvents) {
+                
+                numEvents++;
+                sb.append(event);
+                sb.append("\t".repeat(event.printTabs));
+                sb.append(": ");
+                sb.append(getSlotFromEvent(event));
+                sb.append("\n");
+            }
+
+            // sb.append("Number of events: ");
+            // sb.append(numEvents);
+    
+            return sb.toString();
+    }
+}
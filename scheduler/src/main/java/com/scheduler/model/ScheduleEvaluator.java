@@ -0,0 +1,240 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.model;
+
+import com.scheduler.Debug;
+
+/*
+ * Keeps the soft-constraint penalty components of a Schedule up to date as events are moved.
+ *
+ * The evaluator is built from scratch once, after which every assignment change is applied
+ * as a delta that only looks at the moved event's slots, pairs and same-tier events.
+ */
+final class ScheduleEvaluator {
+
+    /*
+     * The schedule being evaluated.
+     */
+    private final Schedule schedule;
+
+    /*
+     * The instance the schedule is for.
+     */
+    private final Instance instance;
+
+    /*
+     * Total number of events missing from game slots below their minimum.
+     */
+    private int gameDeficit;
+
+    /*
+     * Total number of events missing from practice slots below their minimum.
+     */
+    private int practiceDeficit;
+
+    /*
+     * Sum of the preference values of all events that are not in their preferred slot.
+     */
+    private int prefPenalty;
+
+    /*
+     * Number of pairs of events that are not scheduled at overlapping times.
+     */
+    private int unpairedCount;
+
+    /*
+     * Number of overlapping pairs of events in the same tier but different divisions.
+     */
+    private int secDiffCount;
+
+    /*
+     * Constructor for the ScheduleEvaluator class. Evaluates the schedule from scratch.
+     *
+     * @param schedule the schedule to evaluate
+     */
+    ScheduleEvaluator(Schedule schedule) {
+
+        this.schedule = schedule;
+        this.instance = schedule.getInstance();
+
+        for (Slot slot : instance.getSlotList()) {
+            int fill = schedule.getFill(slot);
+
+            if (fill < slot.getMin()) {
+                Debug.trace(() -> "Slot under minimum: " + slot + " \t\t# of Events assigned: " + fill + " \t\tMin: " + slot.getMin());
+            }
+
+            addDeficit(slot, deficit(slot, fill));
+        }
+
+        for (Event event : instance.getEventList()) {
+
+            Slot slot = schedule.getSlotFromEvent(event);
+
+            prefPenalty += prefPenalty(event, slot);
+
+            for (Event pairedEvent : event.getPairs()) {
+
+                // Only count each pair once, from the event with the lower index
+                if (event.getIndex() <= pairedEvent.getIndex() && !paired(slot, schedule.getSlotFromEvent(pairedEvent))) {
+                    unpairedCount++;
+                }
+            }
+        }
+
+        // Count every overlapping pair of events within each tier that are in different divisions
+        for (Event event : instance.getEventList()) {
+            for (Event other : instance.getSectionRivals(event)) {
+                if (event.getIndex() < other.getIndex() && overlap(schedule.getSlotFromEvent(event), schedule.getSlotFromEvent(other))) {
+                    secDiffCount++;
+                }
+            }
+        }
+    }
+
+    /*
+     * Copy constructor for the ScheduleEvaluator class, for a copy of the evaluated schedule.
+     *
+     * @param other the evaluator to copy
+     * @param schedule the copied schedule
+     */
+    ScheduleEvaluator(ScheduleEvaluator other, Schedule schedule) {
+
+        this.schedule = schedule;
+        this.instance = schedule.getInstance();
+
+        this.gameDeficit = other.gameDeficit;
+        this.practiceDeficit = other.practiceDeficit;
+        this.prefPenalty = other.prefPenalty;
+        this.unpairedCount = other.unpairedCount;
+        this.secDiffCount = other.secDiffCount;
+    }
+
+    /*
+     * Update the penalty components after an event has been moved between slots.
+     * This must be called after the schedule itself has been updated.
+     *
+     * @param event the event that moved
+     * @param from the slot the event was in, or null if it was unassigned
+     * @param to the slot the event is now in, or null if it is now unassigned
+     */
+    void move(Event event, Slot from, Slot to) {
+
+        if (from == to) {
+            return;
+        }
+
+        // Slot minimum penalties, the schedule's fill counts already include the move
+        if (from != null) {
+            int fill = schedule.getFill(from);
+            addDeficit(from, deficit(from, fill) - deficit(from, fill + 1));
+        }
+        if (to != null) {
+            int fill = schedule.getFill(to);
+            addDeficit(to, deficit(to, fill) - deficit(to, fill - 1));
+        }
+
+        // Preferences
+        prefPenalty += prefPenalty(event, to) - prefPenalty(event, from);
+
+        // Pairs
+        for (Event pairedEvent : event.getPairs()) {
+
+            Slot pairedSlot = schedule.getSlotFromEvent(pairedEvent);
+
+            boolean before = pairedEvent.equals(event) ? paired(from, from) : paired(from, pairedSlot);
+            boolean after = pairedEvent.equals(event) ? paired(to, to) : paired(to, pairedSlot);
+
+            if (before != after) {
+                unpairedCount += after ? -1 : 1;
+            }
+        }
+
+        // Overlaps with other divisions of the same tier
+        for (Event other : instance.getSectionRivals(event)) {
+
+            Slot otherSlot = schedule.getSlotFromEvent(other);
+
+            if (otherSlot == null) {
+                continue;
+            }
+
+            boolean before = overlap(from, otherSlot);
+            boolean after = overlap(to, otherSlot);
+
+            if (before != after) {
+                secDiffCount += after ? 1 : -1;
+            }
+        }
+    }
+
+    /*
+     * Returns the evaluation of the schedule, weighted with the given weights and penalties.
+     * The components are kept as raw counts, so any weights can be applied here.
+     */
+    int total(Weights weights) {
+        return minFilledPenalty(weights) * weights.getWMinFilled()
+            + prefPenalty * weights.getWPref()
+            + unpairedCount * weights.getPenNotPaired() * weights.getWPair()
+            + secDiffCount * weights.getPenSection() * weights.getWSecDiff();
+    }
+
+    /*
+     * Returns the penalty for slots that are below their minimum, before the minimum filled weight is applied.
+     */
+    private int minFilledPenalty(Weights weights) {
+        return gameDeficit * weights.getPenGameMin() + practiceDeficit * weights.getPenPracticeMin();
+    }
+
+    /*
+     * Add to the game or practice deficit, depending on the type of slot.
+     */
+    private void addDeficit(Slot slot, int amount) {
+        if (slot.isGameSlot()) {
+            gameDeficit += amount;
+        } else {
+            practiceDeficit += amount;
+        }
+    }
+
+    /*
+     * Returns the number of events a slot is missing to reach its minimum.
+     */
+    private static int deficit(Slot slot, int fill) {
+        return Math.max(0, slot.getMin() - fill);
+    }
+
+    /*
+     * Returns the preference penalty an event incurs while assigned to a slot.
+     */
+    private static int prefPenalty(Event event, Slot slot) {
+
+        int penalty = 0;
+
+        for (Slot preferred : event.getPreferences().keySet()) {
+            if (preferred != slot) {
+                penalty += event.getPreferences().get(preferred);
+            }
+        }
+
+        return penalty;
+    }
+
+    /*
+     * Returns true if two events in these slots satisfy a pair constraint.
+     */
+    private static boolean paired(Slot slot, Slot otherSlot) {
+        return slot != null && slot.overlaps(otherSlot);
+    }
+
+    /*
+     * Returns true if both slots are assigned and overlap.
+     */
+    private static boolean overlap(Slot slot, Slot otherSlot) {
+        return slot != null && otherSlot != null && slot.overlaps(otherSlot);
+    }
+}
@@ -6,6 +6,9 @@
 
 package com.scheduler.model;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a slot in the soccer league scheduling problem.
  * A slot is a time period during which an Event (game or practice) can be scheduled.
@@ -19,6 +22,11 @@ public class Slot {
 
     private final String printString;
 
+    /*
+     * The dense index of the slot within its instance, or -1 until the instance has been indexed.
+     */
+    private int index = -1;
+
     /*
      * True if this slot is a game slot, false if it is a practice slot.
      */
@@ -33,6 +41,11 @@ public class Slot {
      * The start time of the slot in minutes since midnight
      */
     private final int startTime;
+
+    /*
+     * The end time of the slot in minutes since midnight
+     */
+    private final int endTime;
     
     /*
      * The maximum number of events that can be scheduled in this slot (hard constraint)
@@ -44,6 +57,16 @@ public class Slot {
      */
     private final int min;
 
+    /*
+     * This slot's row of the instance's overlap matrix, or null until the instance has been indexed.
+     */
+    private long[] overlapRow;
+
+    /*
+     * All slots in the instance that overlap with this slot (including itself).
+     */
+    private List<Slot> overlappingSlots = Collections.emptyList();
+
     /*
      * Constructor for the Slot class.
      */
@@ -56,6 +79,7 @@ public class Slot {
         this.isGameSlot = isGameSlot;
         this.day = day;
         this.startTime = timeToMin(startTime);
+        this.endTime = this.startTime + duration();
 
         // No games can be scheduled at this time due to league wide admin meeting, so set any such game slot to max 0 games
         if (isGameSlot && day.equals("TU") && startTime.equals("11:00")) {
@@ -67,6 +91,20 @@ public class Slot {
         this.min = min;
     }
 
+    /*
+     * Returns the dense index of the slot within its instance.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /*
+     * Sets the dense index of the slot within its instance.
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
     /*
      * Returns the identifier of the slot
      */
@@ -113,7 +151,7 @@ public class Slot {
      * Returns the end time of the slot (in minutes since midnight).
      */
     public int getEndTime() {
-        return startTime + duration();
+        return endTime;
     }
 
     /*
@@ -151,11 +189,7 @@ public class Slot {
      */
     public int getMax() {
 
-        // This is when the meeting happens, disallowing any games to occur at this time
-        if (isGameSlot && day.equals("TU") && (startTime == timeToMin("11:00"))) {
-            return 0;
-        }
-
+        // Game slots during the admin meeting already have their max set to 0 by the constructor
         return max;
     }
 
@@ -180,6 +214,22 @@ public class Slot {
             return false;
         }
 
+        // Once the instance is indexed, this is a lookup in the precomputed overlap matrix
+        if (overlapRow != null && other.index >= 0) {
+            return (overlapRow[other.index >>> 6] & (1L << other.index)) != 0;
+        }
+
+        return overlapsByTime(other);
+    }
+
+    /**
+     * Returns true if this slot overlaps with another slot, by comparing their days and times.
+     *
+     * @param other the other slot to compare
+     * @return true if the slots overlap
+     */
+    boolean overlapsByTime(Slot other) {
+
         // If this is the same object, it overlaps
         if (this.equals(other)) {
             return true;
@@ -208,6 +258,21 @@ public class Slot {
         return dayOverlaps && timeOverlaps;
     }
 
+    /*
+     * Returns all slots in the instance that overlap with this slot, including the slot itself.
+     */
+    public List<Slot> getOverlappingSlots() {
+        return overlappingSlots;
+    }
+
+    /*
+     * Sets this slot's row of the instance's overlap matrix and the list of slots it overlaps with.
+     */
+    void setOverlaps(long[] overlapRow, List<Slot> overlappingSlots) {
+        this.overlapRow = overlapRow;
+        this.overlappingSlots = Collections.unmodifiableList(overlappingSlots);
+    }
+
     /*
      * Returns true if the slot is in the evening (after 6:00 PM).
      */
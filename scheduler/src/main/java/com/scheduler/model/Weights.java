@@ -0,0 +1,100 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.model;
+
+/*
+ * The weights and penalties a schedule is evaluated with.
+ *
+ * They are kept apart from the constraints of an Instance, so one parsed instance can be solved with many
+ * different weights (see Instance.withWeights) and a schedule can be scored under any of them (see Schedule.eval).
+ */
+public final class Weights {
+
+    private final int wMinFilled;
+    private final int wPref;
+    private final int wPair;
+    private final int wSecDiff;
+    private final int penGameMin;
+    private final int penPracticeMin;
+    private final int penNotPaired;
+    private final int penSection;
+
+    /*
+     * Constructor for the Weights class.
+     */
+    public Weights(int wMinFilled, int wPref, int wPair, int wSecDiff, int penGameMin, int penPracticeMin, int penNotPaired, int penSection) {
+        this.wMinFilled = wMinFilled;
+        this.wPref = wPref;
+        this.wPair = wPair;
+        this.wSecDiff = wSecDiff;
+        this.penGameMin = penGameMin;
+        this.penPracticeMin = penPracticeMin;
+        this.penNotPaired = penNotPaired;
+        this.penSection = penSection;
+    }
+
+    /*
+     * Parses the eight weights and penalties, in the order of the command line arguments, separated by spaces or commas.
+     *
+     * @param text the weights, for example "1 1 1 1 10 10 10 10"
+     * @returns the weights
+     * @throws IllegalArgumentException if there are not exactly eight values
+     * @throws NumberFormatException if a value is not an integer
+     */
+    public static Weights parse(String text) {
+
+        String[] values = text.trim().split("[\\s,]+");
+
+        if (values.length != 8) {
+            throw new IllegalArgumentException("Expected 8 weights and penalties but found " + values.length + ": " + text.trim());
+        }
+
+        return new Weights(
+            Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2]), Integer.parseInt(values[3]),
+            Integer.parseInt(values[4]), Integer.parseInt(values[5]), Integer.parseInt(values[6]), Integer.parseInt(values[7]));
+    }
+
+    public int getWMinFilled() {
+        return wMinFilled;
+    }
+
+    public int getWPref() {
+        return wPref;
+    }
+
+    public int getWPair() {
+        return wPair;
+    }
+
+    public int getWSecDiff() {
+        return wSecDiff;
+    }
+
+    public int getPenGameMin() {
+        return penGameMin;
+    }
+
+    public int getPenPracticeMin() {
+        return penPracticeMin;
+    }
+
+    public int getPenNotPaired() {
+        return penNotPaired;
+    }
+
+    public int getPenSection() {
+        return penSection;
+    }
+
+    /*
+     * Returns the weights in the order of the command line arguments, separated by spaces.
+     */
+    @Override
+    public String toString() {
+        return wMinFilled + " " + wPref + " " + wPair + " " + wSecDiff + " " + penGameMin + " " + penPracticeMin + " " + penNotPaired + " " + penSection;
+    }
+}
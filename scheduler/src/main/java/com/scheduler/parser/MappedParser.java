@@ -0,0 +1,539 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import com.scheduler.Debug;
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.InstanceBuilder;
+import com.scheduler.model.Slot;
+
+/*
+ * Parses the same input format as Parser, but for very large files.
+ *
+ * The file is memory-mapped and scanned byte by byte instead of being read into a String per line and split
+ * with a regular expression. Event and slot references are looked up in intern tables keyed by their raw bytes,
+ * so each distinct id is only turned into a String and resolved once, and the InstanceBuilder is filled through its
+ * Event and Slot overloads.
+ */
+public class MappedParser {
+
+    private enum Section { NAME, GAME_SLOTS, PRACTICE_SLOTS, GAMES, PRACTICES, NOT_COMPATIBLE, UNWANTED, PREFERENCES, PAIR, PARTIAL_ASSIGNMENTS }
+
+    /*
+     * The most fields any line has (preferences: day, time, event, weight).
+     */
+    private static final int MAX_FIELDS = 4;
+
+    /*
+     * A newline in every byte of a word.
+     */
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+
+    private final ByteBuffer buffer;
+
+    private final InstanceBuilder builder;
+
+    /*
+     * The start and end (exclusive) of each field of the current line, with surrounding spaces removed.
+     */
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private int fieldCount;
+
+    /*
+     * Events by their raw id bytes, and game and practice slots by the raw bytes of their "day, time" fields.
+     */
+    private final TokenTable<Event> events;
+    private final TokenTable<Slot> gameSlots;
+    private final TokenTable<Slot> practiceSlots;
+
+    private MappedParser(ByteBuffer buffer, InstanceBuilder builder) {
+        this.buffer = buffer;
+        this.builder = builder;
+        this.events = new TokenTable<>(buffer);
+        this.gameSlots = new TokenTable<>(buffer);
+        this.practiceSlots = new TokenTable<>(buffer);
+    }
+
+    /*
+     * Parses the specified file and returns an Instance object populated with the parsed data.
+     *
+     * @param inputFile the file to parse
+     * @return an Instance object populated with the parsed data
+     * @throws Exception if an I/O error occurs while reading the file
+     * @throws IllegalArgumentException if the file contains an unknown section, a section header is missing or a line is malformed
+     */
+    public static Instance parseFile(File inputFile, int wMinFilled, int wPref, int wPair, int wSecDiff, int penGameMin, int penPracticeMin, int penNotPaired, int penSection) throws Exception {
+
+        Debug.trace(() -> "Parsing mapped file: " + inputFile.getName());
+
+        InstanceBuilder builder = new InstanceBuilder(wMinFilled, wPref, wPair, wSecDiff, penGameMin, penPracticeMin, penNotPaired, penSection);
+
+        try (FileChannel channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Input file " + inputFile.getName() + " is too large to map (over 2 GB).");
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            new MappedParser(buffer, builder).parse();
+        }
+
+        return builder.build();
+    }
+
+    /*
+     * Parses every line of the file into the instance.
+     */
+    private void parse() throws Exception {
+
+        int limit = buffer.limit();
+        int position = 0;
+        String header = null;
+        Section section = null;
+
+        while (position < limit) {
+
+            int lineEnd = lineEnd(position, limit);
+
+            int start = skipSpaces(position, lineEnd);
+            int end = trimSpaces(start, lineEnd);
+            position = lineEnd + 1;
+
+            // Skip empty lines
+            if (start == end) {
+                continue;
+            }
+
+            // Check for section headers
+            if (buffer.get(end - 1) == ':') {
+                header = string(start, end - 1).toLowerCase();
+                section = section(header);
+                continue;
+            }
+
+            if (header == null) {
+                throw new IllegalArgumentException("Section header is missing before line: " + string(start, end));
+            }
+
+            if (section == null) {
+                throw new IllegalArgumentException("Unknown input file section: " + header);
+            }
+
+            switch (section) {
+
+                case NAME -> { continue; }
+
+                case GAME_SLOTS -> parseSlot(start, end, true);
+
+                case PRACTICE_SLOTS -> parseSlot(start, end, false);
+
+                case GAMES -> parseEvent(start, end, true);
+
+                case PRACTICES -> parseEvent(start, end, false);
+
+                case NOT_COMPATIBLE -> {
+                    split(start, end, 2);
+                    builder.addIncompatible(event(0), event(1));
+                }
+
+                case UNWANTED -> {
+                    split(start, end, 3);
+                    Event event = event(0);
+                    if (event != null) {
+                        builder.addUnwanted(event, slot(event, 1));
+                    }
+                }
+
+                case PREFERENCES -> {
+                    split(start, end, 4);
+                    Event event = event(2);
+                    if (event != null) {
+                        builder.addPreference(event, slot(event, 0), parseInt(3));
+                    }
+                }
+
+                case PAIR -> {
+                    split(start, end, 2);
+                    builder.addPair(event(0), event(1));
+                }
+
+                case PARTIAL_ASSIGNMENTS -> parsePartialAssignment(start, end);
+            }
+        }
+    }
+
+    /*
+     * Returns the position of the next newline at or after start, or limit if there is none.
+     * Looks at 8 bytes at a time: a byte of x is zero exactly where the word has a newline.
+     */
+    private int lineEnd(int start, int limit) {
+
+        int i = start;
+
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+
+            long x = buffer.getLong(i) ^ NEWLINES;
+            long found = (x - 0x0101010101010101L) & ~x & 0x8080808080808080L;
+
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+
+        while (i < limit && buffer.get(i) != '\n') {
+            i++;
+        }
+
+        return i;
+    }
+
+    /*
+     * Converts a section header (without the colon, lower case) into its section, or null if it is unknown.
+     */
+    private static Section section(String header) {
+        return switch (header) {
+            case "name" -> Section.NAME;
+            case "game slots" -> Section.GAME_SLOTS;
+            case "practice slots" -> Section.PRACTICE_SLOTS;
+            case "games" -> Section.GAMES;
+            case "practices" -> Section.PRACTICES;
+            case "not compatible" -> Section.NOT_COMPATIBLE;
+            case "unwanted" -> Section.UNWANTED;
+            case "preferences" -> Section.PREFERENCES;
+            case "pair" -> Section.PAIR;
+            case "partial assignments" -> Section.PARTIAL_ASSIGNMENTS;
+            default -> null;
+        };
+    }
+
+    /*
+     * Parses a slot line ("day, time, max, min") and adds the slot to the instance.
+     */
+    private void parseSlot(int start, int end, boolean isGameSlot) {
+
+        split(start, end, 4);
+
+        builder.addSlot(new Slot(isGameSlot, field(0), field(1), parseInt(2), parseInt(3)));
+    }
+
+    /*
+     * Parses an event line and adds the event to the instance.
+     */
+    private void parseEvent(int start, int end, boolean isGame) {
+
+        String line = string(start, end);
+
+        try {
+            builder.addEvent(new Event(line, isGame));
+        } catch (Exception e) {
+            System.err.println("Error parsing event: " + line);
+        }
+    }
+
+    /*
+     * Parses a partial assignment line ("event, day, time") and adds it to the instance.
+     * Partial assignments are rare, so they are resolved through the String lookups, which also report missing slots.
+     */
+    private void parsePartialAssignment(int start, int end) throws Exception {
+
+        split(start, end, 3);
+
+        builder.addPartialAssignment(field(0), field(1), field(2));
+    }
+
+    /*
+     * Splits the line into fields at commas, removing the spaces around each field.
+     *
+     * @param count the number of fields the line must have at least
+     */
+    private void split(int start, int end, int count) {
+
+        fieldCount = 0;
+        int fieldBegin = start;
+
+        for (int i = start; i <= end && fieldCount < MAX_FIELDS; i++) {
+
+            if (i == end || buffer.get(i) == ',') {
+
+                int from = skipSpaces(fieldBegin, i);
+                fieldStart[fieldCount] = from;
+                fieldEnd[fieldCount] = trimSpaces(from, i);
+                fieldCount++;
+
+                fieldBegin = i + 1;
+            }
+        }
+
+        if (fieldCount < count) {
+            throw new IllegalArgumentException("Expected " + count + " fields in line: " + string(start, end));
+        }
+    }
+
+    /*
+     * Returns the event named by a field, or null if there is no such event.
+     */
+    private Event event(int field) {
+
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+
+        int hash = events.hash(start, end);
+        Event event = events.get(start, end, hash);
+
+        if (event == null) {
+            event = builder.getEvent(string(start, end));
+            if (event != null) {
+                events.put(start, end, hash, event);
+            }
+        }
+
+        return event;
+    }
+
+    /*
+     * Returns the slot of the event's type named by a field and the field after it ("day, time"),
+     * or null if there is no such slot.
+     */
+    private Slot slot(Event event, int field) {
+
+        if (fieldCount < field + 2) {
+            throw new IllegalArgumentException("Missing slot time in line: " + string(fieldStart[0], fieldEnd[fieldCount - 1]));
+        }
+
+        TokenTable<Slot> table = event.isGame() ? gameSlots : practiceSlots;
+
+        // The key runs from the start of the day to the end of the time, separator included
+        int start = fieldStart[field];
+        int end = fieldEnd[field + 1];
+
+        int hash = table.hash(start, end);
+        Slot slot = table.get(start, end, hash);
+
+        if (slot == null) {
+            slot = builder.getSlots().get(field(field) + " " + field(field + 1) + (event.isGame() ? " game" : " practice"));
+            if (slot != null) {
+                table.put(start, end, hash, slot);
+            }
+        }
+
+        return slot;
+    }
+
+    /*
+     * Returns a field as a String.
+     */
+    private String field(int field) {
+        return string(fieldStart[field], fieldEnd[field]);
+    }
+
+    /*
+     * Parses a field as a (possibly negative) integer.
+     */
+    private int parseInt(int field) {
+
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + field(field) + "\"");
+        }
+
+        int value = 0;
+
+        for (; i < end; i++) {
+
+            int digit = buffer.get(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + field(field) + "\"");
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    private String string(int start, int end) {
+
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Returns the first position in [start, end) that is not a space, tab or carriage return, or end.
+     */
+    private int skipSpaces(int start, int end) {
+        while (start < end && isSpace(buffer.get(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /*
+     * Returns the end of [start, end) with trailing spaces, tabs and carriage returns removed.
+     */
+    private int trimSpaces(int start, int end) {
+        while (end > start && isSpace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /*
+     * An open-addressing hash table from byte ranges of the mapped file to values. Keys are stored as
+     * positions in the buffer, so looking up a token never copies it.
+     */
+    private static final class TokenTable<T> {
+
+        private final ByteBuffer buffer;
+
+        private int[] keyStart = new int[256];
+        private int[] keyEnd = new int[256];
+        private int[] keyHash = new int[256];
+        private Object[] values = new Object[256];
+        private int size = 0;
+
+        TokenTable(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /*
+         * Hash of the bytes in [start, end), taken 8 bytes at a time.
+         */
+        int hash(int start, int end) {
+
+            long hash = end - start;
+            int i = start;
+
+            for (; i + Long.BYTES <= end; i += Long.BYTES) {
+                hash = Long.rotateLeft((hash ^ buffer.getLong(i)) * 0x9E3779B97F4A7C15L, 29);
+            }
+
+            for (; i < end; i++) {
+                hash = (hash ^ buffer.get(i)) * 0x9E3779B97F4A7C15L;
+            }
+
+            hash ^= hash >>> 32;
+            hash *= 0xC2B2AE3D27D4EB4FL;
+
+            return (int) (hash ^ (hash >>> 29));
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int start, int end, int hash) {
+
+            int mask = values.length - 1;
+
+            for (int i = hash & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keyHash[i] == hash && sameBytes(keyStart[i], keyEnd[i], start, end)) {
+                    return (T) values[i];
+                }
+            }
+
+            return null;
+        }
+
+        void put(int start, int end, int hash, T value) {
+
+            if (2 * (size + 1) > values.length) {
+                grow();
+            }
+
+            int mask = values.length - 1;
+            int i = hash & mask;
+
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keyStart[i] = start;
+            keyEnd[i] = end;
+            keyHash[i] = hash;
+            values[i] = value;
+            size++;
+        }
+
+        private boolean sameBytes(int start, int end, int otherStart, int otherEnd) {
+
+            int length = end - start;
+
+            if (length != otherEnd - otherStart) {
+                return false;
+            }
+
+            int i = 0;
+
+            for (; i + Long.BYTES <= length; i += Long.BYTES) {
+                if (buffer.getLong(start + i) != buffer.getLong(otherStart + i)) {
+                    return false;
+                }
+            }
+
+            for (; i < length; i++) {
+                if (buffer.get(start + i) != buffer.get(otherStart + i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void grow() {
+
+            int[] oldStart = keyStart;
+            int[] oldEnd = keyEnd;
+            int[] oldHash = keyHash;
+            Object[] oldValues = values;
+
+            int capacity = oldValues.length * 2;
+            keyStart = new int[capacity];
+            keyEnd = new int[capacity];
+            keyHash = new int[capacity];
+            values = new Object[capacity];
+
+            int mask = capacity - 1;
+
+            for (int j = 0; j < oldValues.length; j++) {
+
+                if (oldValues[j] == null) {
+                    continue;
+                }
+
+                int i = oldHash[j] & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+
+                keyStart[i] = oldStart[j];
+                keyEnd[i] = oldEnd[j];
+                keyHash[i] = oldHash[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -9,10 +9,12 @@ package com.scheduler.parser;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
+import java.util.regex.Pattern;
 
 import com.scheduler.Debug;
 import com.scheduler.model.Event;
 import com.scheduler.model.Instance;
+import com.scheduler.model.InstanceBuilder;
 import com.scheduler.model.Slot;
 
 /*
@@ -21,6 +23,11 @@ import com.scheduler.model.Slot;
  */
 public class Parser {
 
+    /*
+     * Separates the fields of a line: a comma followed by any spaces.
+     */
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile(",\\s*");
+
     /*
      * Parses the specified file and returns an Instance object populated with the parsed data.
      *
@@ -32,9 +39,9 @@ public class Parser {
 
     public static Instance parseFile(File inputFile, int wMinFilled, int wPref, int wPair, int wSecDiff, int penGameMin, int penPracticeMin, int penNotPaired, int penSection) throws Exception {
 
-        Debug.msg("Parsing file: " + inputFile.getName());
+        Debug.trace(() -> "Parsing file: " + inputFile.getName());
 
-        Instance instance = new Instance(wMinFilled,  wPref,  wPair,  wSecDiff,  penGameMin,  penPracticeMin,  penNotPaired, penSection);
+        InstanceBuilder builder = new InstanceBuilder(wMinFilled,  wPref,  wPair,  wSecDiff,  penGameMin,  penPracticeMin,  penNotPaired, penSection);
 
         try (BufferedReader reader = new BufferedReader(new FileReader(inputFile))) {
 
@@ -65,49 +72,49 @@ public class Parser {
 
                     case "name" -> { continue; }
 
-                    case "game slots" -> parseSlot(instance, line, true);
+                    case "game slots" -> parseSlot(builder, line, true);
 
-                    case "practice slots" -> parseSlot(instance, line, false);
+                    case "practice slots" -> parseSlot(builder, line, false);
 
-                    case "games" -> parseEvent(instance, line, true);
+                    case "games" -> parseEvent(builder, line, true);
 
-                    case "practices" -> parseEvent(instance, line, false);
+                    case "practices" -> parseEvent(builder, line, false);
 
-                    case "not compatible" -> parseNotCompatible(instance, line);
+                    case "not compatible" -> parseNotCompatible(builder, line);
 
-                    case "unwanted" -> parseUnwanted(instance, line);
+                    case "unwanted" -> parseUnwanted(builder, line);
 
-                    case "preferences" -> parsePreference(instance, line);
+                    case "preferences" -> parsePreference(builder, line);
 
-                    case "pair" -> parsePair(instance, line);
+                    case "pair" -> parsePair(builder, line);
 
-                    case "partial assignments" -> parsePartialAssignment(instance, line);
+                    case "partial assignments" -> parsePartialAssignment(builder, line);
 
                     default -> throw new IllegalArgumentException("Unknown input file section: " + currentSection);
                 }
             }
         }
 
-        return instance;
+        return builder.build();
     }
 
     /**
      * Parses a "slot" line and adds it to the Instance object data.
      *
-     * @param instance the Instance object to populate with the parsed data
+     * @param builder the InstanceBuilder to populate with the parsed data
      * @param line the line to parse
      * @param isGameSlot true if the slot is a game slot, false if it is a practice slot
      */
-     private static void parseSlot(Instance instance, String line, boolean isGameSlot) {
+     private static void parseSlot(InstanceBuilder builder, String line, boolean isGameSlot) {
 
-        String[] parts = line.split(",\\s*"); // Split on commas and ignore spaces
+        String[] parts = FIELD_SEPARATOR.split(line); // Split on commas and ignore spaces
 
         String day = parts[0];
         String startTime = parts[1]; 
         int max = Integer.parseInt(parts[2]);
         int min = Integer.parseInt(parts[3]);
 
-        instance.addSlot(new Slot(isGameSlot, day, startTime, max, min));
+        builder.addSlot(new Slot(isGameSlot, day, startTime, max, min));
 
     }
 
@@ -117,13 +124,13 @@ public class Parser {
      * @param line the line to parse
      * @param isGame true if the event is a game, false if it is a practice
      */
-    private static void parseEvent(Instance instance, String line, boolean isGame) {
+    private static void parseEvent(InstanceBuilder builder, String line, boolean isGame) {
 
         try {
 
             Event event = new Event(line, isGame);
             
-            instance.addEvent(event);
+            builder.addEvent(event);
 
         } catch (Exception e) {
             System.err.println("Error parsing event: " + line);
@@ -135,14 +142,14 @@ public class Parser {
      *
      * @param line the line to parse
      */
-    private static void parseNotCompatible(Instance instance, String line) {
+    private static void parseNotCompatible(InstanceBuilder builder, String line) {
 
-        String[] parts = line.split(",\\s*"); // Split on commas and ignore spaces
+        String[] parts = FIELD_SEPARATOR.split(line); // Split on commas and ignore spaces
 
         String event1 = parts[0];
         String event2 = parts[1];
 
-        instance.addIncompatible(event1, event2);
+        builder.addIncompatible(event1, event2);
 
     }
 
@@ -151,16 +158,16 @@ public class Parser {
      *
      * @param line the line to parse
      */
-    private static void parseUnwanted(Instance instance, String line) {
+    private static void parseUnwanted(InstanceBuilder builder, String line) {
         
-        String[] parts = line.split(",\\s*"); // Split on commas and ignore spaces
+        String[] parts = FIELD_SEPARATOR.split(line); // Split on commas and ignore spaces
 
         String eventId = parts[0];
 
         String day = parts[1];
         String startTime = parts[2];
 
-        instance.addUnwanted(eventId, day, startTime);
+        builder.addUnwanted(eventId, day, startTime);
 
     }
 
@@ -169,9 +176,9 @@ public class Parser {
      *
      * @param line the line to parse
      */
-    private static void parsePreference(Instance instance, String line) {
+    private static void parsePreference(InstanceBuilder builder, String line) {
         
-        String[] parts = line.split(",\\s*"); // Split on commas and ignore spaces
+        String[] parts = FIELD_SEPARATOR.split(line); // Split on commas and ignore spaces
 
         String day = parts[0];
         String startTime = parts[1];
@@ -180,7 +187,7 @@ public class Parser {
 
         int weight = Integer.parseInt(parts[3]);
 
-        instance.addPreference(eventId, day, startTime, weight);
+        builder.addPreference(eventId, day, startTime, weight);
     }
 
     /**
@@ -188,14 +195,14 @@ public class Parser {
      *
      * @param line the line to parse
      */
-    private static void parsePair(Instance instance, String line) {
+    private static void parsePair(InstanceBuilder builder, String line) {
 
-        String[] parts = line.split(",\\s*"); // Split on commas and ignore spaces
+        String[] parts = FIELD_SEPARATOR.split(line); // Split on commas and ignore spaces
 
         String event1 = parts[0];
         String event2 = parts[1];
 
-        instance.addPair(event1, event2);
+        builder.addPair(event1, event2);
     }
 
     /**
@@ -203,14 +210,14 @@ public class Parser {
      *
      * @param line the line to parse
      */
-    private static void parsePartialAssignment(Instance instance, String line) throws Exception {
+    private static void parsePartialAssignment(InstanceBuilder builder, String line) throws Exception {
         
-        String[] parts = line.split(",\\s*"); // Split on commas and ignore spaces
+        String[] parts = FIELD_SEPARATOR.split(line); // Split on commas and ignore spaces
 
         String eventId = parts[0];
         String day = parts[1];
         String startTime = parts[2];
 
-        instance.addPartialAssignment(eventId, day, startTime);
+        builder.addPartialAssignment(eventId, day, startTime);
     }
 }
@@ -0,0 +1,640 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.scheduler.Debug;
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.model.Slot;
+import com.scheduler.telemetry.GenerationEvent;
+import com.scheduler.telemetry.LatencyHistogram;
+import com.scheduler.telemetry.Metrics;
+import com.scheduler.telemetry.Recording;
+import com.scheduler.telemetry.TransitionEvent;
+
+public class GeneticAlgorithm {
+
+	// INITIALIZE NECESSARY VARIABLES AND CONSTANTS
+	
+	/*
+	 * The object that stores the schedules that are created.
+	 */
+	public SchedulePool pool;
+	
+	/*
+	 * Minimum amount of schedules required in the pool.
+	 */
+	public final int minSchedules = 100;
+	
+	/*
+	 * Maximum amount of schedules required in the pool.
+	 */
+	public final int maxSchedules = 1000;
+	
+	/*
+	 * The amount of schedules to be deleted from the pool should a schedule deletion be necessary.
+	 */
+	public final int deleteSchedules = 900;
+
+	/*
+	 * The number of random schedules generated at once for each thread of the fill pool while the pool is incomplete.
+	 */
+	public final int fillBatchPerThread = 4;
+
+	/*
+	 * The threads that generate and score random schedules in parallel while the pool is incomplete.
+	 */
+	private ForkJoinPool fillPool = ForkJoinPool.commonPool();
+	
+	/*
+	 * Pool state identifiers which determines if the pool is not within the range of the min and max schedules. 
+	 */
+	public boolean caseOverflow;
+	public boolean caseIncomplete;
+	
+	/*
+	 * Flag which indicates if the algorithm has fulfilled its goal and can proceed to ending further logical operations.
+	 */
+	private boolean terminate = false;
+
+	/*
+	 * When the search stops, and the progress of this search against those criteria (created by the first step).
+	 */
+	private Termination termination = Termination.DEFAULT;
+	private Termination.Monitor monitor;
+
+	/*
+	 * The number of schedules generated and evaluated so far.
+	 */
+	private long evaluations = 0;
+
+	/*
+	 * How many of the evaluations have been reported to the metrics registry.
+	 */
+	private long reportedEvaluations = 0;
+
+	/*
+	 * The metrics the search reports its progress to, looked up once by setMetrics as they are updated every generation.
+	 */
+	private LongAdder generationCounter;
+	private LongAdder evaluationCounter;
+	private LongAdder ortreeSearchCounter;
+	private LongAdder ortreeNodeCounter;
+	private LongAdder ortreeBacktrackCounter;
+	private LongAdder candidateEvaluationCounter;
+	private LongAdder crossoverFallbackCounter;
+	private AtomicLong poolBestGauge;
+	private AtomicLong poolAverageGauge;
+	private AtomicLong poolWorstGauge;
+	private AtomicLong poolSizeGauge;
+	private LatencyHistogram randLatency;
+	private LatencyHistogram mutationLatency;
+	private LatencyHistogram crossoverLatency;
+
+	/*
+	 * The Instance containing relevant context of the problem.
+	 */
+	private Instance Instance;
+
+	/*
+	 * The search strategy used by the ORTrees that generate and repair schedules.
+	 */
+	private ORTree.Strategy searchStrategy = ORTree.Strategy.FORWARD_CHECKING;
+
+	/*
+	 * When the ORTrees give up on an attempt and start over, and how many backtracks they may make in total (0 for no limit).
+	 */
+	private RestartPolicy restartPolicy = ORTree.DEFAULT_RESTART_POLICY;
+	private long maxBacktracks = 0;
+
+	/*
+	 * How the parents of Mutation and Crossover are picked from the pool.
+	 */
+	private Selection selection = Selection.DEFAULT;
+
+	/*
+	 * How Crossover combines its two parents.
+	 */
+	private Recombination recombination = Recombination.DEFAULT;
+
+	/*
+	 * The single source of randomness for this search, shared with its ORTrees and pool.
+	 */
+	private final SplittableRandom random;
+	
+	/**
+	 * Creates a Genetic Algorithm instance using the instance. This creates an empty pool of schedules.
+	 * 
+	 * @param instance The initial instance containing facts and relevant data needed to run a Genetic Algorithm search.
+	 * @param random The random number generator for the search. It must not be used by any other thread.
+	 */
+	public GeneticAlgorithm(Instance instance, SplittableRandom random) {
+		this.Instance = instance;
+		this.random = random;
+		this.pool = new SkipListPool(random.split());
+		setMetrics(new Metrics());
+	}
+
+	/**
+	 * Creates a Genetic Algorithm instance with an unseeded random number generator.
+	 * 
+	 * @param instance The initial instance containing facts and relevant data needed to run a Genetic Algorithm search.
+	 */
+	public GeneticAlgorithm(Instance instance) {
+		this(instance, new SplittableRandom());
+	}
+
+	/**
+	 * Sets the search strategy used by the ORTrees that generate and repair schedules.
+	 *
+	 * @param searchStrategy The ORTree search strategy.
+	 */
+	public void setSearchStrategy(ORTree.Strategy searchStrategy) {
+		this.searchStrategy = searchStrategy;
+	}
+
+	/**
+	 * Sets the restart policy and total backtrack limit of the ORTrees that generate and repair schedules.
+	 *
+	 * @param restartPolicy The ORTree restart policy.
+	 * @param maxBacktracks The backtrack limit of each ORTree search, or 0 for no limit.
+	 */
+	public void setRestartPolicy(RestartPolicy restartPolicy, long maxBacktracks) {
+		this.restartPolicy = restartPolicy;
+		this.maxBacktracks = maxBacktracks;
+	}
+
+	/**
+	 * Sets how the parents of Mutation and Crossover are picked from the pool. Defaults to Selection.DEFAULT.
+	 *
+	 * @param selection The selection strategy.
+	 */
+	public void setSelection(Selection selection) {
+		this.selection = selection;
+	}
+
+	/**
+	 * Sets how Crossover combines its two parents. Defaults to Recombination.DEFAULT.
+	 *
+	 * @param recombination The crossover operator.
+	 */
+	public void setRecombination(Recombination recombination) {
+		this.recombination = recombination;
+	}
+
+	/**
+	 * Sets the threads that generate and score random schedules in parallel while the pool is incomplete.
+	 * Defaults to the common fork-join pool.
+	 *
+	 * @param fillPool The fork-join pool to generate schedules on.
+	 */
+	public void setFillPool(ForkJoinPool fillPool) {
+		this.fillPool = fillPool;
+	}
+
+	/**
+	 * Sets the registry the search reports its progress to. Several searches can share one registry.
+	 *
+	 * @param metrics The metrics registry.
+	 */
+	public void setMetrics(Metrics metrics) {
+		setMetrics(metrics, "");
+	}
+
+	/**
+	 * Sets the registry the search reports its progress to, keeping its pool gauges apart from those of the other
+	 * searches sharing the registry. Counters and histograms are still added up over all searches.
+	 *
+	 * @param metrics The metrics registry.
+	 * @param gaugePrefix Put in front of the names of the pool gauges, for example "island.0.".
+	 */
+	public void setMetrics(Metrics metrics, String gaugePrefix) {
+
+		generationCounter = metrics.counter(Metrics.GENERATIONS);
+		evaluationCounter = metrics.counter(Metrics.EVALUATIONS);
+		ortreeSearchCounter = metrics.counter(Metrics.ORTREE_SEARCHES);
+		ortreeNodeCounter = metrics.counter(Metrics.ORTREE_NODES);
+		ortreeBacktrackCounter = metrics.counter(Metrics.ORTREE_BACKTRACKS);
+		candidateEvaluationCounter = metrics.counter(Metrics.CANDIDATE_EVALUATIONS);
+		crossoverFallbackCounter = metrics.counter(Metrics.CROSSOVER_FALLBACKS);
+
+		poolBestGauge = metrics.gauge(gaugePrefix + Metrics.POOL_BEST);
+		poolAverageGauge = metrics.gauge(gaugePrefix + Metrics.POOL_AVERAGE);
+		poolWorstGauge = metrics.gauge(gaugePrefix + Metrics.POOL_WORST);
+		poolSizeGauge = metrics.gauge(gaugePrefix + Metrics.POOL_SIZE);
+
+		randLatency = metrics.histogram(Metrics.LATENCY_RAND);
+		mutationLatency = metrics.histogram(Metrics.LATENCY_MUTATION);
+		crossoverLatency = metrics.histogram(Metrics.LATENCY_CROSSOVER);
+	}
+
+	/**
+	 * Sets when the search stops. Defaults to Termination.DEFAULT.
+	 * Must be called before the first step, as the wall-clock budget starts with it.
+	 *
+	 * @param termination The termination criteria.
+	 */
+	public void setTermination(Termination termination) {
+		this.termination = termination;
+	}
+	
+	/**
+	 * The main search loop of the Genetic Algorithm.
+	 * 
+	 * This loop will continuously evaluate the state of the pool and algorithm and will call the necessary transition
+	 * functions to be applied for every state.
+	 * 
+	 * The states being checked for includes:
+	 * (1) the case where the pool has schedules more than the allowable maximum amount,
+	 * (2) the case where the pool has schedules less than the minimum expected amount,
+	 * (3) the amount of schedules in pool is neither under or over the expected min and max amounts, respectively, and
+	 * (4) when the algorithm's termination flag has been triggered which breaks the search out of the loop and the function
+	 *     returns a single valid schedule from the pool.
+	 * 
+	 * @return A complete and valid Schedule.
+	 */
+	public Schedule runSearch() {
+
+		Debug.info("Running Genetic Algorithm");
+		
+		while (step()) {
+			// Keep applying transitions until the termination flag is triggered
+		}
+		
+		return getBest();
+	}
+
+	/**
+	 * Runs a single iteration (generation) of the search loop.
+	 * 
+	 * @return false if the algorithm has terminated, true otherwise.
+	 */
+	public boolean step() {
+
+		if (this.terminate) {
+			return false;
+		}
+
+		if (this.monitor == null) {
+			this.monitor = termination.start();
+		}
+
+		// Only created while a flight recording is running, see Recording
+		GenerationEvent generationEvent = Recording.isActive() ? new GenerationEvent() : null;
+		if (generationEvent != null) {
+			generationEvent.begin();
+		}
+
+		String transitionName;
+
+		this.fWert();
+
+		Debug.info(() -> "Pool size: " + pool.size());
+
+		Debug.info(() -> "overflow: " + this.caseOverflow);
+
+		Debug.info(() -> "incomplete: " + this.caseIncomplete);
+		
+		if (this.caseOverflow) {
+			Debug.info("Case overflow");
+
+			pool.removeWorst(deleteSchedules);
+			transitionName = "Overflow";
+			
+		} else if (this.caseIncomplete) {
+
+			Debug.info("Case incomplete");
+
+			// Generate a batch of random schedules at once, without overshooting the minimum
+			int batchSize = Math.min(this.minSchedules - pool.size(), fillBatchPerThread * fillPool.getParallelism());
+
+			pool.addAll(RandBatch(batchSize));
+			evaluations += batchSize;
+			transitionName = "Rand";
+			Debug.info("got random");
+			
+		} else { // If pool is NEITHER incomplete nor overflowing, Mutate or Crossover from existing schedules in pool
+			
+			Debug.info("Case other");
+
+			String transition = fSelect(70); // Set the bias to 70-30 in favor of the crossover.
+			transitionName = transition;
+			
+			if (transition.equals("Crossover")) {
+
+				Debug.info("Cross");
+				
+				Schedule newSchedule = transition("Crossover", crossoverLatency, this::Crossover);
+				pool.add(newSchedule);
+				evaluations++;
+				
+			} else { // If Mutation has been selected over Crossover
+
+				Debug.info("mutation");
+				
+				Schedule newSchedule = transition("Mutation", mutationLatency, this::Mutation);
+				pool.add(newSchedule);
+				evaluations++;
+				
+			}
+		}
+
+		generationCounter.increment();
+		evaluationCounter.add(evaluations - reportedEvaluations);
+		reportedEvaluations = evaluations;
+
+		// Record this generation and check whether any termination criterion has been met
+		if (pool.size() > 0) {
+
+			int best = pool.getBest().eval();
+			long average = pool.getFitSum() / pool.size();
+			int worst = pool.getWorst().eval();
+
+			poolBestGauge.set(best);
+			poolAverageGauge.set(average);
+			poolWorstGauge.set(worst);
+			poolSizeGauge.set(pool.size());
+
+			if (generationEvent != null && generationEvent.shouldCommit()) {
+				generationEvent.generation = monitor.getGenerations();
+				generationEvent.transition = transitionName;
+				generationEvent.poolSize = pool.size();
+				generationEvent.best = best;
+				generationEvent.average = average;
+				generationEvent.worst = worst;
+				generationEvent.evaluations = evaluations;
+				generationEvent.commit();
+			}
+
+			Termination.Reason reason = monitor.record(best, average, evaluations);
+
+			if (reason != null) {
+				Debug.info(() -> "Terminating after " + monitor.getGenerations() + " generations and " + evaluations + " evaluations: " + reason);
+				this.terminate = true;
+			}
+		}
+
+		return !this.terminate;
+	}
+
+	/**
+	 * Returns true once the algorithm's termination flag has been triggered.
+	 * 
+	 * @return boolean indicating if the search has terminated.
+	 */
+	public boolean isTerminated() {
+		return this.terminate;
+	}
+
+	/**
+	 * Returns why the search terminated.
+	 * 
+	 * @return The termination reason, or null if the search has not terminated.
+	 */
+	public Termination.Reason getTerminationReason() {
+		return monitor != null ? monitor.getReason() : null;
+	}
+
+	/**
+	 * Returns the number of schedules generated and evaluated so far.
+	 * 
+	 * @return The number of evaluations.
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Returns the best schedule currently in the pool.
+	 * 
+	 * @return The best Schedule, or null if the pool is empty.
+	 */
+	public Schedule getBest() {
+		return this.pool.getBest();
+	}
+
+	/**
+	 * Adds a schedule found by another search (such as another island) to the pool.
+	 * The schedule must not be shared with any other search.
+	 * 
+	 * @param migrant The Schedule to add to the pool.
+	 */
+	public void addMigrant(Schedule migrant) {
+		pool.add(migrant);
+	}
+	
+	
+	/**
+	 * Function to evaluate the state of the pool and assist in determining which transition method to call to create
+	 * new or modify pool.
+	 * 
+	 */
+	public void fWert() {
+		
+        // Evaluate each case
+        this.caseOverflow = (pool.size() > this.maxSchedules);
+        this.caseIncomplete = (pool.size() < this.minSchedules);	
+	}
+	
+	
+	/**
+	 * Function to select a transition between Mutation and Crossover
+	 * 
+	 * @param r refers to weight distribution of how much more likely is Crossover going to be selected over Mutation.
+	 * @return String identifying which transition to choose between Mutation and Crossover.
+	 */
+	public String fSelect(int r) {
+		
+		// Decide between Mutation and Crossover
+		int chance = random.nextInt(100);
+		return (chance < r) ? "Crossover" : "Mutation";
+	}
+	
+	
+	// TRANSITION FUNCTIONS:
+
+	/**
+	 * Creates an ORTree with this algorithm's search settings.
+	 *
+	 * @param template The template Schedule to attempt to follow, or null for an empty template.
+	 */
+	private ORTree newORTree(Schedule template) {
+		return newORTree(template, random);
+	}
+
+	/**
+	 * Creates an ORTree with this algorithm's search settings and its own random number generator.
+	 *
+	 * @param template The template Schedule to attempt to follow, or null for an empty template.
+	 * @param random The random number generator of the ORTree.
+	 */
+	private ORTree newORTree(Schedule template, SplittableRandom random) {
+
+		ORTree ortree = new ORTree(Instance, template, searchStrategy, random);
+		ortree.setRestartPolicy(restartPolicy);
+		ortree.setMaxBacktracks(maxBacktracks);
+
+		return ortree;
+	}
+
+	/**
+	 * Runs an ORTree search and reports its nodes, backtracks and candidate evaluations, whether or not it succeeds.
+	 *
+	 * @param ortree The ORTree to run.
+	 * @return The Schedule found.
+	 */
+	private Schedule runORTree(ORTree ortree) {
+
+		try {
+			return ortree.runSearch();
+		} finally {
+			ortreeSearchCounter.increment();
+			ortreeNodeCounter.add(ortree.getNodes());
+			ortreeBacktrackCounter.add(ortree.getBacktracks());
+			candidateEvaluationCounter.add(ortree.getCandidateEvaluations());
+		}
+	}
+
+	/**
+	 * Runs a transition that builds one schedule, recording its latency (if it succeeds) and a flight recorder event.
+	 *
+	 * @param name The name of the transition: Rand, Mutation or Crossover.
+	 * @param latency The latency histogram of the transition.
+	 * @param transition The transition.
+	 * @return The Schedule built by the transition.
+	 */
+	private Schedule transition(String name, LatencyHistogram latency, Supplier<Schedule> transition) {
+
+		TransitionEvent event = Recording.isActive() ? new TransitionEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+
+		long start = System.nanoTime();
+
+		Schedule schedule = null;
+
+		try {
+			schedule = transition.get();
+
+			latency.record(System.nanoTime() - start);
+
+			return schedule;
+
+		} finally {
+			// Also when the transition failed, so the event records that no schedule could be built (eval -1)
+			if (event != null && event.shouldCommit()) {
+				event.transition = name;
+				event.eval = schedule != null ? schedule.eval() : -1;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	 * Generates and scores a batch of random schedules in parallel on the fill pool.
+	 *
+	 * Every schedule gets its own ORTree and a random number generator split off in order, so the batch
+	 * is the same however the work is spread over the threads. The instance is read-only and each
+	 * schedule stays with one thread until it is returned, so nothing is shared while the batch runs.
+	 *
+	 * @param batchSize The number of schedules to generate.
+	 * @return The schedules, each already evaluated, in the order their random number generators were split.
+	 */
+	private List<Schedule> RandBatch(int batchSize) {
+
+		List<CompletableFuture<Schedule>> tasks = new ArrayList<>(batchSize);
+
+		for (int i = 0; i < batchSize; i++) {
+
+			ORTree ortree = newORTree(null, random.split());
+
+			tasks.add(CompletableFuture.supplyAsync(() -> transition("Rand", randLatency, () -> {
+				Schedule schedule = runORTree(ortree);
+				schedule.eval();
+				return schedule;
+			}), fillPool));
+		}
+
+		List<Schedule> batch = new ArrayList<>(batchSize);
+
+		try {
+			for (CompletableFuture<Schedule> task : tasks) {
+				batch.add(task.join());
+			}
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		} finally {
+			// Skip the rest of the batch if one of the schedules could not be generated
+			for (CompletableFuture<Schedule> task : tasks) {
+				task.cancel(false);
+			}
+		}
+
+		return batch;
+	}
+
+	private Schedule Mutation() {
+
+		// Derive the template so the parent in the pool is never changed
+		Schedule template = selection.select(pool, 1, random)[0].derive();
+
+		int k = 2;
+
+		Event e;
+		Slot t;
+
+		while(k > 0) {
+
+			e = template.getRandomMutableEvent(random);
+
+			if (e == null) {
+				break;
+			}
+
+			t = template.getRandomCandidateSlot(e, random);
+
+			if (t != null) {
+
+				template.assign(e, t);
+
+			}
+
+			k = k - 1;
+		}
+		
+		return runORTree(newORTree(template));
+	}
+
+	private Schedule Crossover() {
+
+		Schedule[] parents = selection.select(pool, 2, random);
+
+		// Keep as much of the parents as the hard constraints allow, and leave only the events that fit nowhere to the ORTree
+		Schedule child = recombination.recombine(parents[0], parents[1], random);
+
+		if (!child.complete()) {
+			crossoverFallbackCounter.increment();
+		}
+
+		return runORTree(newORTree(child));
+	}
+}
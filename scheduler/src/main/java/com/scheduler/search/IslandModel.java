@@ -0,0 +1,345 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.scheduler.Debug;
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.telemetry.Metrics;
+
+/**
+ * Runs several independent Genetic Algorithm populations (islands) in parallel.
+ *
+ * The islands are arranged in a ring. Every few generations each island sends a copy of its best
+ * schedule to the next island, and takes in any schedules that have been sent to it.
+ * Once every island has terminated or the budget runs out, the best schedule over all islands is returned.
+ */
+public class IslandModel {
+
+	/*
+	 * The Instance shared (read-only) by all islands.
+	 */
+	private final Instance instance;
+
+	/*
+	 * Number of islands to run.
+	 */
+	private final int islandCount;
+
+	/*
+	 * Number of generations between migrations.
+	 */
+	private final int migrationInterval;
+
+	/*
+	 * Wall-clock budget for the whole search in milliseconds, or 0 for no limit.
+	 */
+	private final long timeBudgetMillis;
+
+	/*
+	 * Maximum number of generations per island, or 0 for no limit.
+	 */
+	private final long generationBudget;
+
+	/*
+	 * The migration channel of each island. Island i receives from island i - 1.
+	 */
+	private final List<ConcurrentLinkedQueue<Schedule>> inboxes;
+
+	/*
+	 * The ORTree search strategy used by every island.
+	 */
+	private ORTree.Strategy searchStrategy = ORTree.Strategy.FORWARD_CHECKING;
+
+	/*
+	 * The ORTree restart policy and backtrack limit used by every island.
+	 */
+	private RestartPolicy restartPolicy = ORTree.DEFAULT_RESTART_POLICY;
+	private long maxBacktracks = 0;
+
+	/*
+	 * How every island picks the parents of Mutation and Crossover.
+	 */
+	private Selection selection = Selection.DEFAULT;
+
+	/*
+	 * How every island's Crossover combines its two parents.
+	 */
+	private Recombination recombination = Recombination.DEFAULT;
+
+	/*
+	 * When each island's Genetic Algorithm stops on its own.
+	 */
+	private Termination termination = Termination.DEFAULT;
+
+	/*
+	 * The registry every island reports its progress to.
+	 */
+	private Metrics metrics = new Metrics();
+
+	/*
+	 * The random number generator that each island's own stream is split from.
+	 */
+	private SplittableRandom random = new SplittableRandom();
+
+	/**
+	 * Creates an island model search.
+	 *
+	 * @param instance The instance to search for a schedule for.
+	 * @param islandCount The number of islands, or 0 for one island per available core.
+	 * @param migrationInterval The number of generations between migrations.
+	 * @param timeBudgetMillis The wall-clock budget in milliseconds, or 0 for no limit.
+	 * @param generationBudget The maximum number of generations per island, or 0 for no limit.
+	 */
+	public IslandModel(Instance instance, int islandCount, int migrationInterval, long timeBudgetMillis, long generationBudget) {
+
+		if (migrationInterval < 1) {
+			throw new IllegalArgumentException("Migration interval must be at least 1.");
+		}
+
+		this.instance = instance;
+		this.islandCount = islandCount > 0 ? islandCount : Runtime.getRuntime().availableProcessors();
+		this.migrationInterval = migrationInterval;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.generationBudget = generationBudget;
+
+		this.inboxes = new ArrayList<>();
+		for (int i = 0; i < this.islandCount; i++) {
+			inboxes.add(new ConcurrentLinkedQueue<>());
+		}
+	}
+
+	/**
+	 * Sets the ORTree search strategy used by every island.
+	 *
+	 * @param searchStrategy The ORTree search strategy.
+	 */
+	public void setSearchStrategy(ORTree.Strategy searchStrategy) {
+		this.searchStrategy = searchStrategy;
+	}
+
+	/**
+	 * Sets the ORTree restart policy and backtrack limit used by every island.
+	 *
+	 * @param restartPolicy The ORTree restart policy.
+	 * @param maxBacktracks The backtrack limit of each ORTree search, or 0 for no limit.
+	 */
+	public void setRestartPolicy(RestartPolicy restartPolicy, long maxBacktracks) {
+		this.restartPolicy = restartPolicy;
+		this.maxBacktracks = maxBacktracks;
+	}
+
+	/**
+	 * Sets how every island picks the parents of Mutation and Crossover.
+	 *
+	 * @param selection The selection strategy.
+	 */
+	public void setSelection(Selection selection) {
+		this.selection = selection;
+	}
+
+	/**
+	 * Sets how every island's Crossover combines its two parents.
+	 *
+	 * @param recombination The crossover operator.
+	 */
+	public void setRecombination(Recombination recombination) {
+		this.recombination = recombination;
+	}
+
+	/**
+	 * Sets when each island's Genetic Algorithm stops on its own, before the budget of the island model runs out.
+	 *
+	 * @param termination The termination criteria, applied to every island separately.
+	 */
+	public void setTermination(Termination termination) {
+		this.termination = termination;
+	}
+
+	/**
+	 * Sets the registry every island reports its progress to.
+	 *
+	 * @param metrics The metrics registry, shared by all islands.
+	 */
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Sets the random number generator that each island's own stream is split from.
+	 *
+	 * @param random The random number generator, for example one created from a fixed seed.
+	 */
+	public void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Runs every island to completion and returns the best schedule found by any of them.
+	 *
+	 * @return A complete and valid Schedule.
+	 */
+	public Schedule runSearch() {
+
+		long deadline = timeBudgetMillis > 0 ? System.currentTimeMillis() + timeBudgetMillis : Long.MAX_VALUE;
+
+		ForkJoinPool executor = new ForkJoinPool(islandCount);
+
+		try {
+			List<Future<Schedule>> results = new ArrayList<>();
+
+			for (int i = 0; i < islandCount; i++) {
+				int island = i;
+				// Split here, in island order, so a seeded run gives every island the same stream each time
+				SplittableRandom islandRandom = random.split();
+				results.add(executor.submit(() -> runIsland(island, islandRandom, deadline)));
+			}
+
+			Schedule best = null;
+
+			for (Future<Schedule> result : results) {
+
+				Schedule islandBest = result.get();
+
+				if (islandBest != null && (best == null || islandBest.eval() < best.eval())) {
+					best = islandBest;
+				}
+			}
+
+			if (best == null) {
+				throw new IllegalStateException("No schedule found within the search budget.");
+			}
+
+			return best;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Island search was interrupted.", e);
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Island search failed: " + e.getCause().getMessage(), e.getCause());
+
+		} finally {
+			executor.shutdownNow();
+
+			// Also when an island failed, as that is when the summary is most needed
+			combinePoolGauges();
+		}
+	}
+
+	/**
+	 * Returns the prefix of an island's own pool gauges.
+	 *
+	 * @param island The index of the island.
+	 * @return The prefix, for example "island.0.".
+	 */
+	private static String islandGaugePrefix(int island) {
+		return "island." + island + ".";
+	}
+
+	/**
+	 * Sets the pool gauges of the whole search from those of its islands: the best of their best schedules, the
+	 * worst of their worst, their total size and the average over all their schedules. Islands that never finished
+	 * a generation are left out.
+	 */
+	private void combinePoolGauges() {
+
+		long best = Long.MAX_VALUE;
+		long worst = Long.MIN_VALUE;
+		long size = 0;
+		long fitSum = 0;
+
+		for (int i = 0; i < islandCount; i++) {
+
+			String prefix = islandGaugePrefix(i);
+			long islandSize = metrics.gauge(prefix + Metrics.POOL_SIZE).get();
+
+			if (islandSize == 0) {
+				continue;
+			}
+
+			best = Math.min(best, metrics.gauge(prefix + Metrics.POOL_BEST).get());
+			worst = Math.max(worst, metrics.gauge(prefix + Metrics.POOL_WORST).get());
+			size += islandSize;
+			fitSum += metrics.gauge(prefix + Metrics.POOL_AVERAGE).get() * islandSize;
+		}
+
+		if (size == 0) {
+			return;
+		}
+
+		metrics.gauge(Metrics.POOL_BEST).set(best);
+		metrics.gauge(Metrics.POOL_WORST).set(worst);
+		metrics.gauge(Metrics.POOL_SIZE).set(size);
+		metrics.gauge(Metrics.POOL_AVERAGE).set(fitSum / size);
+	}
+
+	/**
+	 * Runs a single island until it terminates or the budget runs out.
+	 *
+	 * @param island The index of the island.
+	 * @param random The island's own random number generator.
+	 * @param deadline The wall-clock time (in milliseconds) at which to stop.
+	 * @return The best Schedule found by the island.
+	 */
+	private Schedule runIsland(int island, SplittableRandom random, long deadline) {
+
+		GeneticAlgorithm ga = new GeneticAlgorithm(instance, random);
+		ga.setSearchStrategy(searchStrategy);
+		ga.setRestartPolicy(restartPolicy, maxBacktracks);
+		ga.setSelection(selection);
+		ga.setRecombination(recombination);
+		ga.setTermination(termination);
+		ga.setMetrics(metrics, islandGaugePrefix(island));
+
+		ConcurrentLinkedQueue<Schedule> inbox = inboxes.get(island);
+		ConcurrentLinkedQueue<Schedule> neighbour = inboxes.get((island + 1) % islandCount);
+
+		long generation = 0;
+
+		while (ga.step()) {
+
+			generation++;
+
+			if (generationBudget > 0 && generation >= generationBudget) {
+				break;
+			}
+
+			if (System.currentTimeMillis() >= deadline) {
+				break;
+			}
+
+			if (generation % migrationInterval == 0 && islandCount > 1) {
+
+				// Send a private copy of our best schedule, so the receiver never shares it with us
+				Schedule best = ga.getBest();
+				if (best != null) {
+					neighbour.offer(new Schedule(best));
+				}
+
+				// Take in everything that has been sent to this island
+				Schedule migrant;
+				while ((migrant = inbox.poll()) != null) {
+					ga.addMigrant(migrant);
+				}
+			}
+		}
+
+		long generations = generation;
+		Debug.info(() -> "Island " + island + " finished after " + generations + " generations");
+
+		return ga.getBest();
+	}
+}
@@ -0,0 +1,316 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.scheduler.Debug;
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.model.Slot;
+
+/**
+ * Improves a complete schedule with simulated annealing, after the Genetic Algorithm has finished.
+ *
+ * Every step proposes either moving one event to another slot or swapping the slots of two events of the same type.
+ * A move only checks the hard constraints of the events it touches, and is scored by the schedule's incremental
+ * evaluation, so a step costs far less than building a new schedule with an ORTree. Worse schedules are accepted
+ * with a probability that shrinks as the budget is used up, which lets the search walk out of local minima early on.
+ */
+public class LocalSearch {
+
+	/**
+	 * The chance (in percent) that a step proposes a swap instead of a single move.
+	 */
+	public final int swapPercent = 30;
+
+	/**
+	 * The number of worsening steps used to estimate the starting temperature.
+	 */
+	public final int calibrationSteps = 100;
+
+	/**
+	 * The temperature at the end of the budget, as a fraction of the starting temperature.
+	 */
+	public final double finalTemperatureRatio = 0.001;
+
+	/*
+	 * The instance the schedules are for.
+	 */
+	private final Instance instance;
+
+	/*
+	 * Wall-clock budget in milliseconds, or 0 for no limit.
+	 */
+	private final long timeBudgetMillis;
+
+	/*
+	 * Maximum number of steps, or 0 for no limit.
+	 */
+	private final long moveBudget;
+
+	/*
+	 * The random number generator that picks and accepts moves.
+	 */
+	private final SplittableRandom random;
+
+	/*
+	 * The indices of the games and practices that are not fixed by the partial assignment.
+	 */
+	private final int[] mutableGames;
+	private final int[] mutablePractices;
+
+	/*
+	 * The number of steps taken and accepted by the last search.
+	 */
+	private long steps;
+	private long accepted;
+
+	/**
+	 * Creates a local search.
+	 *
+	 * @param instance The instance to improve schedules for.
+	 * @param random The random number generator, for example one created from a fixed seed.
+	 * @param timeBudgetMillis The wall-clock budget in milliseconds, or 0 for no limit.
+	 * @param moveBudget The maximum number of steps, or 0 for no limit.
+	 */
+	public LocalSearch(Instance instance, SplittableRandom random, long timeBudgetMillis, long moveBudget) {
+
+		if (timeBudgetMillis <= 0 && moveBudget <= 0) {
+			throw new IllegalArgumentException("Local search needs a time budget or a move budget.");
+		}
+
+		this.instance = instance;
+		this.random = random;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.moveBudget = moveBudget;
+
+		List<Integer> games = new ArrayList<>();
+		List<Integer> practices = new ArrayList<>();
+
+		for (Event event : instance.getEventList()) {
+			if (!instance.isPartiallyAssigned(event)) {
+				(event.isGame() ? games : practices).add(event.getIndex());
+			}
+		}
+
+		this.mutableGames = games.stream().mapToInt(Integer::intValue).toArray();
+		this.mutablePractices = practices.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Runs simulated annealing from a complete and valid schedule until the budget runs out.
+	 * The given schedule is not changed.
+	 *
+	 * @param start The schedule to start from.
+	 * @return The best Schedule found, which is never worse than the start.
+	 */
+	public Schedule improve(Schedule start) {
+
+		long startTime = System.currentTimeMillis();
+
+		Schedule current = new Schedule(start);
+		Schedule best = current.derive();
+
+		int currentEval = current.eval();
+		int bestEval = currentEval;
+
+		steps = 0;
+		accepted = 0;
+
+		// The starting temperature is the average worsening seen over the first steps, which are only accepted if they don't worsen
+		double startTemperature = 0;
+		long worsening = 0;
+		long worseningSum = 0;
+
+		Event[] touched = new Event[2];
+		Slot[] previous = new Slot[2];
+
+		while (true) {
+
+			double progress = progress(startTime);
+			if (progress >= 1) {
+				break;
+			}
+
+			steps++;
+
+			touched[1] = null;
+
+			if (!propose(current, touched, previous)) {
+				continue;
+			}
+
+			int delta = current.eval() - currentEval;
+
+			boolean accept;
+
+			if (delta <= 0) {
+				accept = true;
+
+			} else if (worsening < calibrationSteps) {
+				worsening++;
+				worseningSum += delta;
+				accept = false;
+
+				if (worsening == calibrationSteps) {
+					startTemperature = Math.max(1.0, (double) worseningSum / worsening);
+				}
+
+			} else {
+				// Cool geometrically from the starting temperature to a small fraction of it over the budget
+				double temperature = startTemperature * Math.pow(finalTemperatureRatio, progress);
+				accept = random.nextDouble() < Math.exp(-delta / temperature);
+			}
+
+			if (!accept) {
+				undo(current, touched, previous);
+				continue;
+			}
+
+			accepted++;
+			currentEval += delta;
+
+			if (currentEval < bestEval) {
+				bestEval = currentEval;
+				best = current.derive();
+			}
+		}
+
+		int bestFound = bestEval;
+		Debug.info(() -> "Local search: " + steps + " steps, " + accepted + " accepted, eval " + start.eval() + " -> " + bestFound);
+
+		return best;
+	}
+
+	/**
+	 * Returns the number of steps taken by the last search.
+	 *
+	 * @return The number of steps.
+	 */
+	public long getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Returns the number of steps accepted by the last search.
+	 *
+	 * @return The number of accepted steps.
+	 */
+	public long getAccepted() {
+		return accepted;
+	}
+
+	/**
+	 * Returns how much of the budget has been used, from 0 to 1 (or more once it has run out).
+	 *
+	 * @param startTime The wall-clock time (in milliseconds) at which the search started.
+	 * @return The larger of the used fractions of the time and move budgets.
+	 */
+	private double progress(long startTime) {
+
+		double progress = 0;
+
+		if (timeBudgetMillis > 0) {
+			progress = (double) (System.currentTimeMillis() - startTime) / timeBudgetMillis;
+		}
+
+		if (moveBudget > 0) {
+			progress = Math.max(progress, (double) steps / moveBudget);
+		}
+
+		return progress;
+	}
+
+	/**
+	 * Applies a random single move or swap to the schedule, if a valid one is found.
+	 *
+	 * @param schedule The schedule to change.
+	 * @param touched Filled with the events that were moved (the second is null for a single move).
+	 * @param previous Filled with the slots the moved events were in.
+	 * @return true if the schedule was changed.
+	 */
+	private boolean propose(Schedule schedule, Event[] touched, Slot[] previous) {
+
+		boolean swap = random.nextInt(100) < swapPercent;
+
+		// Pick the event type in proportion to the number of mutable events of each type
+		int total = mutableGames.length + mutablePractices.length;
+		if (total == 0) {
+			return false;
+		}
+
+		int[] events = random.nextInt(total) < mutableGames.length ? mutableGames : mutablePractices;
+
+		Event event = instance.getEventByIndex(events[random.nextInt(events.length)]);
+		Slot from = schedule.getSlotFromEvent(event);
+
+		if (!swap) {
+			Slot to = schedule.getRandomCandidateSlot(event, random);
+
+			if (to == null || to == from || !schedule.assign(event, to)) {
+				return false;
+			}
+
+			touched[0] = event;
+			previous[0] = from;
+			return true;
+		}
+
+		Event other = instance.getEventByIndex(events[random.nextInt(events.length)]);
+		Slot otherFrom = schedule.getSlotFromEvent(other);
+
+		if (other == event || otherFrom == from || !event.isCompatible(otherFrom) || !other.isCompatible(from)) {
+			return false;
+		}
+
+		// Take both events out, then check each against the schedule without the other
+		schedule.clearAssignment(event);
+		schedule.clearAssignment(other);
+
+		if (schedule.assign(event, otherFrom)) {
+			if (schedule.assign(other, from)) {
+				touched[0] = event;
+				touched[1] = other;
+				previous[0] = from;
+				previous[1] = otherFrom;
+				return true;
+			}
+			schedule.clearAssignment(event);
+		}
+
+		schedule.assign(event, from, false);
+		schedule.assign(other, otherFrom, false);
+		return false;
+	}
+
+	/**
+	 * Puts the events of a rejected move back in their previous slots.
+	 *
+	 * @param schedule The schedule to change.
+	 * @param touched The events that were moved.
+	 * @param previous The slots the moved events were in.
+	 */
+	private void undo(Schedule schedule, Event[] touched, Slot[] previous) {
+
+		for (Event event : touched) {
+			if (event != null) {
+				schedule.clearAssignment(event);
+			}
+		}
+
+		// The previous assignment was valid, so it doesn't need to be checked again
+		for (int i = 0; i < touched.length; i++) {
+			if (touched[i] != null) {
+				schedule.assign(touched[i], previous[i], false);
+			}
+		}
+	}
+}
@@ -0,0 +1,658 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.scheduler.Debug;
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.model.Slot;
+import com.scheduler.telemetry.ORTreeSearchEvent;
+import com.scheduler.telemetry.Recording;
+
+public class ORTree {
+
+    /**
+     * The restart policy used unless another one is set.
+     */
+    public static final RestartPolicy DEFAULT_RESTART_POLICY = RestartPolicy.luby(64);
+
+    /**
+     * The ways the ORTree can search for a schedule.
+     */
+    public enum Strategy {
+
+        /**
+         * Schedule events in the fixed order from Schedule.getSchedulingOrder(), checking each
+         * event's candidate slots as it is reached.
+         */
+        ORDERED,
+
+        /**
+         * Keep the remaining candidate slots (domain) of every unscheduled event up to date after
+         * each assignment, backtrack as soon as any domain is empty, and always schedule the event
+         * with the smallest domain next.
+         */
+        FORWARD_CHECKING
+    }
+
+    /**
+     * The instance being scheduled.
+     */
+    private final Instance instance;
+
+    /**
+     * The search strategy to use.
+     */
+    private final Strategy strategy;
+
+    /**
+     * The template Schedule the ORTree attempts to follow, or null for
+     * an empty template.
+     */
+    private final Schedule template;
+
+    /**
+     * The Schedule being built by the ORTree.
+     */
+    private final Schedule schedule;
+
+    /**
+     * The order of events to schedule.
+     */
+    private final ArrayList<Event> orderedEvents;
+
+    /**
+     * Random number generator for the order in which candidate slots are tried.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * When to give up on the current attempt and start the search over.
+     */
+    private RestartPolicy restartPolicy = DEFAULT_RESTART_POLICY;
+
+    /**
+     * The number of backtracks after which the search fails, or 0 for no limit.
+     */
+    private long maxBacktracks = 0;
+
+    /**
+     * The number of assignments, backtracks and restarts made by the search.
+     */
+    private long nodes = 0;
+    private long backtracks = 0;
+    private int restarts = 0;
+
+    /**
+     * The number of times an event was checked against a candidate slot.
+     */
+    private long candidateEvaluations = 0;
+
+    // SEARCH FRAMES (indexed by depth)
+
+    /**
+     * The index of the event each frame schedules.
+     */
+    private final int[] frameEvent;
+
+    /**
+     * The candidate slot indices of each frame, in the order they are tried.
+     */
+    private final int[][] frameSlots;
+
+    /**
+     * The number of candidate slots of each frame, and the position of the next one to try.
+     */
+    private final int[] frameCount;
+    private final int[] framePosition;
+
+    /**
+     * The trail size before each frame's assignment, so its domain changes can be undone.
+     */
+    private final int[] frameMark;
+
+    // FORWARD CHECKING STATE (indexed by event index)
+
+    /**
+     * The remaining candidate slots of each event, as a bitset of slot indices.
+     */
+    private long[][] domains;
+
+    /**
+     * True for events that the forward checking search still has to schedule.
+     */
+    private boolean[] pending;
+
+    /**
+     * The domain changes made so far, so they can be undone when backtracking.
+     * Entry i removed the slots in trailMask[i] from word trailWord[i] of event trailEvent[i]'s domain.
+     */
+    private int[] trailEvent = new int[64];
+    private int[] trailWord = new int[64];
+    private long[] trailMask = new long[64];
+    private int trailSize = 0;
+
+    /**
+     * Creates an ORTree instance with a given template and search strategy.
+     *
+     * @param instance The main search instance.
+     * @param template The template Schedule to attempt to follow.
+     * @param strategy The search strategy to use.
+     * @param random The random number generator for the order in which candidate slots are tried.
+     */
+    public ORTree(Instance instance, Schedule template, Strategy strategy, SplittableRandom random) {
+        this.instance = instance;
+        this.template = template;
+        this.strategy = strategy;
+        this.random = random;
+        schedule = new Schedule(instance);
+        orderedEvents = schedule.getSchedulingOrder();
+
+        int depth = orderedEvents.size();
+        frameEvent = new int[depth];
+        frameSlots = new int[depth][instance.getSlotCount()];
+        frameCount = new int[depth];
+        framePosition = new int[depth];
+        frameMark = new int[depth];
+    }
+
+    /**
+     * Creates an ORTree instance with a given template and search strategy.
+     *
+     * @param instance The main search instance.
+     * @param template The template Schedule to attempt to follow.
+     * @param strategy The search strategy to use.
+     */
+    public ORTree(Instance instance, Schedule template, Strategy strategy) {
+        this(instance, template, strategy, new SplittableRandom());
+    }
+
+    /**
+     * Creates an ORTree instance with a given template, using the ordered search.
+     *
+     * @param instance The main search instance.
+     * @param template The template Schedule to attempt to follow.
+     */
+    public ORTree(Instance instance, Schedule template) {
+        this(instance, template, Strategy.ORDERED);
+    }
+
+    /**
+     * Creates an ORTree instance with an empty template.
+     *
+     * @param instance The main search instance.
+     */
+    public ORTree(Instance instance) {
+        this(instance, null);
+    }
+
+    /**
+     * Sets when the search gives up on its current attempt and starts over.
+     *
+     * @param restartPolicy The restart policy.
+     */
+    public void setRestartPolicy(RestartPolicy restartPolicy) {
+        this.restartPolicy = restartPolicy;
+    }
+
+    /**
+     * Sets the number of backtracks after which the search fails.
+     *
+     * @param maxBacktracks The backtrack limit, or 0 for no limit.
+     */
+    public void setMaxBacktracks(long maxBacktracks) {
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    /**
+     * Returns the number of assignments the search has made.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of assignments the search has undone.
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * Returns the number of times the search started over.
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Returns the number of times an event was checked against a candidate slot.
+     */
+    public long getCandidateEvaluations() {
+        return candidateEvaluations;
+    }
+
+    /**
+     * The main search loop of the ORTree. Returns a complete and valid
+     * schedule for the instance of this ORTree object.
+     *
+     * @return A complete and valid Schedule, based on the template, if
+     * applicable.
+     */
+    public Schedule runSearch() {
+
+        if (template != null) {
+            // if using a template, check if it is complete and valid
+            if (template.complete() && template.valid()) {
+                // if the template happens to be a complete and valid schedule,
+                // simply end the search and return it
+                Debug.debug("used template");
+                return template;
+            }
+        }
+
+        Debug.debug("Going into search to make a schedule");
+
+        // Only created while a flight recording is running, see Recording
+        ORTreeSearchEvent searchEvent = Recording.isActive() ? new ORTreeSearchEvent() : null;
+        if (searchEvent != null) {
+            searchEvent.begin();
+        }
+
+        boolean found = search();
+
+        if (searchEvent != null && searchEvent.shouldCommit()) {
+            searchEvent.strategy = strategy.name();
+            searchEvent.nodes = nodes;
+            searchEvent.backtracks = backtracks;
+            searchEvent.candidateEvaluations = candidateEvaluations;
+            searchEvent.restarts = restarts;
+            searchEvent.succeeded = found;
+            searchEvent.commit();
+        }
+
+        if (!found) {
+            throw new IllegalStateException("No valid schedule found.");
+        }
+
+        if (!schedule.valid()) {
+            throw new IllegalStateException("Invalid schedule created.");
+        }
+
+        if (!schedule.complete()) {
+            throw new IllegalStateException("Incomplete schedule created.");
+        }
+
+        return schedule;
+    }
+
+    /**
+     * Depth-first search over the frames, one frame per scheduled event. Each frame holds the
+     * event being scheduled and the candidate slots still to try for it.
+     *
+     * @return True if a valid schedule was found, false otherwise.
+     */
+    private boolean search() {
+
+        int total = orderedEvents.size();
+
+        if (strategy == Strategy.FORWARD_CHECKING && !initDomains()) {
+            return false;
+        }
+
+        long limit = restartPolicy.limit(restarts);
+        long backtracksSinceRestart = 0;
+
+        int depth = 0;
+
+        // Everything may already be fixed by the partial assignment
+        if (total > 0) {
+            openFrame(depth);
+        }
+
+        while (depth < total) {
+
+            // Every candidate slot of this frame failed, so backtrack to the previous frame
+            if (framePosition[depth] >= frameCount[depth]) {
+
+                if (strategy == Strategy.FORWARD_CHECKING) {
+                    pending[frameEvent[depth]] = true;
+                }
+
+                if (depth == 0) {
+                    Debug.debug("Every candidate slot of the first event failed");
+                    return false;
+                }
+
+                depth--;
+                undoFrame(depth);
+                backtracks++;
+                backtracksSinceRestart++;
+
+            } else {
+
+                Event event = instance.getEventByIndex(frameEvent[depth]);
+                Slot slot = instance.getSlotByIndex(frameSlots[depth][framePosition[depth]++]);
+
+                candidateEvaluations++;
+
+                if (!schedule.assign(event, slot)) {
+                    continue;
+                }
+
+                nodes++;
+                frameMark[depth] = trailSize;
+
+                if (strategy != Strategy.FORWARD_CHECKING || propagate(event, slot)) {
+
+                    depth++;
+
+                    if (depth < total) {
+                        openFrame(depth);
+                    }
+
+                    continue;
+                }
+
+                // Some pending event was left without candidate slots
+                undoFrame(depth);
+                backtracks++;
+                backtracksSinceRestart++;
+            }
+
+            if (maxBacktracks > 0 && backtracks >= maxBacktracks) {
+                Debug.debug(() -> "Backtrack limit of " + maxBacktracks + " reached");
+                unwind(depth);
+                return false;
+            }
+
+            // Start over with a fresh slot order once this attempt has used up its backtracks
+            if (backtracksSinceRestart >= limit) {
+
+                unwind(depth);
+
+                restarts++;
+                limit = restartPolicy.limit(restarts);
+                backtracksSinceRestart = 0;
+
+                int restart = restarts;
+                Debug.debug(() -> "Restart " + restart + " after " + backtracks + " backtracks");
+
+                depth = 0;
+                openFrame(depth);
+            }
+        }
+
+        Debug.debug("All events scheduled");
+
+        return true;
+    }
+
+    /**
+     * Picks the event for a frame and fills the frame with its candidate slots, in the order they should be tried.
+     *
+     * @param depth The frame to open.
+     */
+    private void openFrame(int depth) {
+
+        Event event;
+        int count = 0;
+        int[] slots = frameSlots[depth];
+
+        if (strategy == Strategy.FORWARD_CHECKING) {
+
+            event = selectEvent();
+            pending[event.getIndex()] = false;
+
+            long[] domain = domains[event.getIndex()];
+
+            for (int w = 0; w < domain.length; w++) {
+                for (long bits = domain[w]; bits != 0; bits &= bits - 1) {
+                    slots[count++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+
+        } else {
+
+            event = orderedEvents.get(depth);
+
+            count = schedule.getCandidateSlots(event, slots);
+            candidateEvaluations += instance.getStaticDomain(event).length;
+        }
+
+        Debug.debug(() -> "Searching at depth " + depth + ": " + event);
+
+        // Randomize order
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = slots[i];
+            slots[i] = slots[j];
+            slots[j] = temp;
+        }
+
+        // If a template is being used, move the template's slot to the front. Only the first attempt follows it:
+        // an incomplete template can lead every attempt into the same dead end, so restarts explore freely
+        if (template != null && restarts == 0) {
+            Slot templateSlot = template.getSlotFromEvent(event);
+            for (int i = 0; templateSlot != null && i < count; i++) {
+                if (slots[i] == templateSlot.getIndex()) {
+                    slots[i] = slots[0];
+                    slots[0] = templateSlot.getIndex();
+                    break;
+                }
+            }
+        }
+
+        frameEvent[depth] = event.getIndex();
+        frameCount[depth] = count;
+        framePosition[depth] = 0;
+    }
+
+    /**
+     * Undoes the assignment made by a frame and every domain change it caused.
+     *
+     * @param depth The frame to undo.
+     */
+    private void undoFrame(int depth) {
+        undoTo(frameMark[depth]);
+        schedule.clearAssignment(instance.getEventByIndex(frameEvent[depth]));
+    }
+
+    /**
+     * Undoes every frame up to and including the open frame at the given depth, leaving the
+     * schedule and domains as they were before the search started.
+     *
+     * @param depth The open frame.
+     */
+    private void unwind(int depth) {
+
+        if (strategy == Strategy.FORWARD_CHECKING) {
+            pending[frameEvent[depth]] = true;
+        }
+
+        for (int d = depth - 1; d >= 0; d--) {
+
+            undoFrame(d);
+
+            if (strategy == Strategy.FORWARD_CHECKING) {
+                pending[frameEvent[d]] = true;
+            }
+        }
+    }
+
+    /**
+     * Sets up the domain of every event that still has to be scheduled.
+     *
+     * @return False if some event has no candidate slots at all, true otherwise.
+     */
+    private boolean initDomains() {
+
+        int words = (instance.getSlotCount() + 63) >>> 6;
+
+        domains = new long[instance.getEventCount()][words];
+        pending = new boolean[instance.getEventCount()];
+
+        int[] candidates = new int[instance.getSlotCount()];
+
+        for (Event event : orderedEvents) {
+
+            pending[event.getIndex()] = true;
+
+            int count = schedule.getCandidateSlots(event, candidates);
+            candidateEvaluations += instance.getStaticDomain(event).length;
+
+            for (int i = 0; i < count; i++) {
+                domains[event.getIndex()][candidates[i] >>> 6] |= 1L << candidates[i];
+            }
+
+            if (domainSize(event.getIndex()) == 0) {
+                Debug.debug(() -> "No candidate slots for " + event);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Picks the pending event with the fewest remaining candidate slots. Ties go to the event
+     * that is incompatible with the most other events, as it constrains the rest of the search most.
+     *
+     * @return The next Event to schedule.
+     */
+    private Event selectEvent() {
+
+        Event best = null;
+        int bestSize = Integer.MAX_VALUE;
+        int bestDegree = -1;
+
+        for (Event event : orderedEvents) {
+
+            if (!pending[event.getIndex()]) {
+                continue;
+            }
+
+            int size = domainSize(event.getIndex());
+            int degree = event.getIncompatibleEvents().size();
+
+            if (size < bestSize || (size == bestSize && degree > bestDegree)) {
+                best = event;
+                bestSize = size;
+                bestDegree = degree;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Removes the slots that an assignment rules out from the domains of the pending events.
+     *
+     * @param event The event that was assigned.
+     * @param slot The slot it was assigned to.
+     * @return False if some pending event has no candidate slots left, true otherwise.
+     */
+    private boolean propagate(Event event, Slot slot) {
+
+        int slotIndex = slot.getIndex();
+
+        // Incompatible events can no longer use any slot that overlaps this one
+        for (Event incompatibleEvent : event.getIncompatibleEvents()) {
+
+            int other = incompatibleEvent.getIndex();
+
+            if (!pending[other]) {
+                continue;
+            }
+
+            long[] domain = domains[other];
+
+            for (int w = 0; w < domain.length; w++) {
+                removeFromDomain(other, w, domain[w] & instance.overlapWord(slotIndex, w));
+            }
+
+            if (domainSize(other) == 0) {
+                return false;
+            }
+        }
+
+        // Once the slot is full, no other event can use it
+        if (!schedule.slotAvailable(slot)) {
+
+            int w = slotIndex >>> 6;
+            long bit = 1L << slotIndex;
+
+            for (Event other : orderedEvents) {
+
+                int otherIndex = other.getIndex();
+
+                if (pending[otherIndex] && (domains[otherIndex][w] & bit) != 0) {
+
+                    removeFromDomain(otherIndex, w, bit);
+
+                    if (domainSize(otherIndex) == 0) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes slots from one word of an event's domain, recording the change on the trail.
+     */
+    private void removeFromDomain(int eventIndex, int word, long removed) {
+
+        if (removed == 0) {
+            return;
+        }
+
+        domains[eventIndex][word] &= ~removed;
+
+        if (trailSize == trailEvent.length) {
+            trailEvent = Arrays.copyOf(trailEvent, trailSize * 2);
+            trailWord = Arrays.copyOf(trailWord, trailSize * 2);
+            trailMask = Arrays.copyOf(trailMask, trailSize * 2);
+        }
+
+        trailEvent[trailSize] = eventIndex;
+        trailWord[trailSize] = word;
+        trailMask[trailSize] = removed;
+        trailSize++;
+    }
+
+    /**
+     * Undoes every domain change made since the trail had the given size.
+     */
+    private void undoTo(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            domains[trailEvent[trailSize]][trailWord[trailSize]] |= trailMask[trailSize];
+        }
+    }
+
+    /**
+     * Returns the number of slots remaining in an event's domain.
+     */
+    private int domainSize(int eventIndex) {
+
+        int size = 0;
+
+        for (long word : domains[eventIndex]) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.scheduler.model.Division;
+import com.scheduler.model.Event;
+import com.scheduler.model.Instance;
+import com.scheduler.model.Schedule;
+import com.scheduler.model.Slot;
+
+/*
+ * Decides how Crossover combines two parent schedules into a child.
+ *
+ * The child starts as a copy of the first parent and takes a block of its events from the second parent:
+ * - uniform: every event, each with an even chance,
+ * - division: all events of a division, each division with an even chance,
+ * - day: all events the second parent has on a day, each day with an even chance,
+ * - events:<k>: k random events (the original Crossover).
+ *
+ * Taking events from the second parent can break hard constraints, so those events that don't fit are repaired
+ * greedily: each goes back to its slot in the first parent if it is still free, otherwise to the free slot that
+ * gives the lowest eval value. Only if an event fits nowhere is the child left incomplete, and the ORTree then
+ * rebuilds it with the child as its template.
+ */
+public final class Recombination {
+
+    private enum Kind { UNIFORM, DIVISION, DAY, EVENTS }
+
+    /*
+     * The operator used unless another one is set.
+     */
+    public static final Recombination DEFAULT = uniform();
+
+    private final Kind kind;
+
+    /*
+     * The number of events taken from the second parent (EVENTS).
+     */
+    private final int events;
+
+    private Recombination(Kind kind, int events) {
+        this.kind = kind;
+        this.events = events;
+    }
+
+    /*
+     * Take every event from the second parent with an even chance.
+     */
+    public static Recombination uniform() {
+        return new Recombination(Kind.UNIFORM, 0);
+    }
+
+    /*
+     * Take all events of each division from the second parent with an even chance.
+     */
+    public static Recombination division() {
+        return new Recombination(Kind.DIVISION, 0);
+    }
+
+    /*
+     * Take all events the second parent has on each day with an even chance.
+     */
+    public static Recombination day() {
+        return new Recombination(Kind.DAY, 0);
+    }
+
+    /*
+     * Take k random events from the second parent.
+     *
+     * @param k the number of events, at least 1
+     */
+    public static Recombination events(int k) {
+
+        if (k < 1) {
+            throw new IllegalArgumentException("Number of crossover events must be at least 1.");
+        }
+
+        return new Recombination(Kind.EVENTS, k);
+    }
+
+    /*
+     * Parses an operator written as "uniform", "division", "day" or "events:<k>".
+     */
+    public static Recombination parse(String text) {
+
+        String[] parts = text.trim().toLowerCase().split(":");
+
+        switch (parts[0]) {
+            case "uniform":
+                if (parts.length == 1) {
+                    return uniform();
+                }
+                break;
+            case "division":
+                if (parts.length == 1) {
+                    return division();
+                }
+                break;
+            case "day":
+                if (parts.length == 1) {
+                    return day();
+                }
+                break;
+            case "events":
+                if (parts.length == 2) {
+                    return events(Integer.parseInt(parts[1]));
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw new IllegalArgumentException("Unknown crossover operator: " + text);
+    }
+
+    /*
+     * Combine two complete and valid parents into a child. Neither parent is changed.
+     *
+     * The child is valid, and complete unless some events could not be placed anywhere; those are left
+     * unassigned.
+     *
+     * @param first the parent the child starts from
+     * @param second the parent the child takes a block of events from
+     * @param random the random number generator to pick the block with
+     * @returns the child
+     */
+    public Schedule recombine(Schedule first, Schedule second, SplittableRandom random) {
+
+        Instance instance = first.getInstance();
+
+        // Derive the child so the first parent in the pool is never changed
+        Schedule child = first.derive();
+
+        List<Event> inherited = pickEvents(instance, first, second, random);
+
+        // Take the inherited events out first, so they don't block each other's slots in the second parent
+        for (Event event : inherited) {
+            child.clearAssignment(event);
+        }
+
+        List<Event> misfits = new ArrayList<>();
+
+        for (Event event : inherited) {
+            Slot slot = second.getSlotFromEvent(event);
+            if (slot == null || !child.assign(event, slot)) {
+                misfits.add(event);
+            }
+        }
+
+        int[] candidates = new int[instance.getSlotCount()];
+
+        for (Event event : misfits) {
+            repair(child, first.getSlotFromEvent(event), event, candidates);
+        }
+
+        return child;
+    }
+
+    /*
+     * Pick the events the child takes from the second parent. Events fixed by the partial assignment are the
+     * same in both parents, so they are never picked.
+     */
+    private List<Event> pickEvents(Instance instance, Schedule first, Schedule second, SplittableRandom random) {
+
+        List<Event> picked = new ArrayList<>();
+
+        switch (kind) {
+            case EVENTS:
+                // Draw from the child's point of view, as the original Crossover did (events may repeat)
+                for (int i = 0; i < events; i++) {
+                    Event event = first.getRandomMutableEvent(random);
+                    if (event == null) {
+                        break;
+                    }
+                    picked.add(event);
+                }
+                return picked;
+            case DIVISION:
+                Map<String, Boolean> divisions = new HashMap<>();
+                for (Event event : instance.getEventList()) {
+                    if (!instance.isPartiallyAssigned(event)
+                            && divisions.computeIfAbsent(divisionKey(event.getDivision()), key -> random.nextBoolean())) {
+                        picked.add(event);
+                    }
+                }
+                return picked;
+            case DAY:
+                Map<String, Boolean> days = new HashMap<>();
+                for (Event event : instance.getEventList()) {
+                    Slot slot = second.getSlotFromEvent(event);
+                    if (!instance.isPartiallyAssigned(event) && slot != null
+                            && days.computeIfAbsent(slot.getDay(), key -> random.nextBoolean())) {
+                        picked.add(event);
+                    }
+                }
+                return picked;
+            default:
+                for (Event event : instance.getEventList()) {
+                    if (!instance.isPartiallyAssigned(event) && random.nextBoolean()) {
+                        picked.add(event);
+                    }
+                }
+                return picked;
+        }
+    }
+
+    /*
+     * Returns a key that is the same for all events of a division.
+     */
+    private static String divisionKey(Division division) {
+        return division.getLeague() + " " + division.getTier() + " " + division.getDiv();
+    }
+
+    /*
+     * Greedily place an event that doesn't fit in its slot of the second parent: back in its slot of the first
+     * parent if that is still free, otherwise in the free slot with the lowest eval value. The event is left
+     * unassigned if no slot is free.
+     *
+     * @param child the schedule to place the event in
+     * @param original the event's slot in the first parent
+     * @param event the event to place
+     * @param candidates scratch space with room for every slot of the instance
+     */
+    private static void repair(Schedule child, Slot original, Event event, int[] candidates) {
+
+        if (original != null && child.assign(event, original)) {
+            return;
+        }
+
+        Instance instance = child.getInstance();
+        int count = child.getCandidateSlots(event, candidates);
+
+        Slot best = null;
+        int bestEval = Integer.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+
+            Slot slot = instance.getSlotByIndex(candidates[i]);
+
+            if (child.assign(event, slot)) {
+                int eval = child.eval();
+                if (eval < bestEval) {
+                    bestEval = eval;
+                    best = slot;
+                }
+            }
+        }
+
+        if (best != null) {
+            child.assign(event, best);
+        } else {
+            child.clearAssignment(event);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case UNIFORM:
+                return "uniform";
+            case DIVISION:
+                return "division";
+            case DAY:
+                return "day";
+            default:
+                return "events:" + events;
+        }
+    }
+}
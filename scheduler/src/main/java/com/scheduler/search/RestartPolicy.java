@@ -0,0 +1,162 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+/*
+ * Decides how many backtracks an ORTree search may make before it gives up on its current
+ * attempt and starts over with a fresh random slot order.
+ *
+ * Restarting cuts off the long runs of backtracking that a bad early choice can cause, while
+ * a growing limit still lets the search eventually prove that no schedule exists.
+ */
+public final class RestartPolicy {
+
+    private enum Kind { NONE, LUBY, GEOMETRIC }
+
+    private final Kind kind;
+
+    /*
+     * The backtrack limit of the first attempt (LUBY and GEOMETRIC).
+     */
+    private final long unit;
+
+    /*
+     * The factor the limit grows by after every restart (GEOMETRIC).
+     */
+    private final double factor;
+
+    private RestartPolicy(Kind kind, long unit, double factor) {
+        this.kind = kind;
+        this.unit = unit;
+        this.factor = factor;
+    }
+
+    /*
+     * Never restart.
+     */
+    public static RestartPolicy none() {
+        return new RestartPolicy(Kind.NONE, 0, 1);
+    }
+
+    /*
+     * Restart after unit * (1, 1, 2, 1, 1, 2, 4, 1, ...) backtracks, following the Luby sequence.
+     *
+     * @param unit the backtrack limit of the first attempt
+     */
+    public static RestartPolicy luby(long unit) {
+
+        if (unit < 1) {
+            throw new IllegalArgumentException("Restart unit must be at least 1.");
+        }
+
+        return new RestartPolicy(Kind.LUBY, unit, 1);
+    }
+
+    /*
+     * Restart after initial, initial * factor, initial * factor^2, ... backtracks.
+     *
+     * @param initial the backtrack limit of the first attempt
+     * @param factor the factor the limit grows by after every restart
+     */
+    public static RestartPolicy geometric(long initial, double factor) {
+
+        if (initial < 1 || factor < 1) {
+            throw new IllegalArgumentException("Restart limit must be at least 1 and must not shrink.");
+        }
+
+        return new RestartPolicy(Kind.GEOMETRIC, initial, factor);
+    }
+
+    /*
+     * Parses a policy written as "none", "luby:<unit>" or "geometric:<initial>:<factor>".
+     */
+    public static RestartPolicy parse(String text) {
+
+        String[] parts = text.trim().toLowerCase().split(":");
+
+        switch (parts[0]) {
+            case "none":
+                if (parts.length == 1) {
+                    return none();
+                }
+                break;
+            case "luby":
+                if (parts.length == 2) {
+                    return luby(Long.parseLong(parts[1]));
+                }
+                break;
+            case "geometric":
+                if (parts.length == 3) {
+                    return geometric(Long.parseLong(parts[1]), Double.parseDouble(parts[2]));
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw new IllegalArgumentException("Unknown restart policy: " + text);
+    }
+
+    /*
+     * Returns the number of backtracks allowed before the given restart, or Long.MAX_VALUE for no limit.
+     *
+     * @param restart the number of restarts made so far
+     */
+    public long limit(int restart) {
+
+        switch (kind) {
+            case LUBY:
+                return saturatingMultiply(unit, lubyElement(restart + 1));
+            case GEOMETRIC:
+                double limit = unit * Math.pow(factor, restart);
+                return limit >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) limit;
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
+    /*
+     * Returns the i-th element (starting at 1) of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...
+     */
+    static long lubyElement(long i) {
+
+        while (true) {
+
+            // Find the smallest k with i <= 2^k - 1
+            int k = 1;
+            while ((1L << k) - 1 < i) {
+                k++;
+            }
+
+            // The element at the end of each block of length 2^k - 1 is 2^(k - 1),
+            // and the block before it repeats the sequence so far
+            if (i == (1L << k) - 1) {
+                return 1L << (k - 1);
+            }
+
+            i -= (1L << (k - 1)) - 1;
+        }
+    }
+
+    private static long saturatingMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return (high == 0 && low >= 0) ? low : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case LUBY:
+                return "luby:" + unit;
+            case GEOMETRIC:
+                return "geometric:" + unit + ":" + factor;
+            default:
+                return "none";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.List;
+
+import com.scheduler.model.Schedule;
+
+/**
+ * A pool of schedules kept in order of fitness (eval value), where a lower eval value is better.
+ *
+ * Each schedule's fitness is read once when it is added, so the order stays consistent even if
+ * the schedule's eval value later changes. Schedules with equal fitness are ranked in the order
+ * they were added.
+ */
+public interface SchedulePool {
+
+	/**
+	 * Adds a schedule to the pool.
+	 *
+	 * @param schedule The Schedule to add.
+	 */
+	void add(Schedule schedule);
+
+	/**
+	 * Adds a batch of schedules to the pool, in the order of the list, so schedules with equal
+	 * fitness are ranked as if they had been added one at a time.
+	 *
+	 * @param schedules The Schedules to add.
+	 */
+	default void addAll(List<Schedule> schedules) {
+		for (Schedule schedule : schedules) {
+			add(schedule);
+		}
+	}
+
+	/**
+	 * Returns the number of schedules in the pool.
+	 */
+	int size();
+
+	/**
+	 * Returns the sum of the fitness of every schedule in the pool.
+	 */
+	long getFitSum();
+
+	/**
+	 * Returns the schedule at the given rank, where rank 0 is the best schedule.
+	 *
+	 * @param rank The rank of the schedule, between 0 and size() - 1.
+	 * @return The Schedule at that rank.
+	 */
+	Schedule get(int rank);
+
+	/**
+	 * Returns the fitness the schedule at the given rank had when it was added.
+	 *
+	 * @param rank The rank of the schedule, between 0 and size() - 1.
+	 * @return The fitness of the Schedule at that rank.
+	 */
+	int getFitness(int rank);
+
+	/**
+	 * Returns the best schedule, or null if the pool is empty.
+	 */
+	Schedule getBest();
+
+	/**
+	 * Returns the second best schedule, or null if there are fewer than 2 schedules.
+	 */
+	Schedule get2Best();
+
+	/**
+	 * Returns the k best schedules, best first. Returns fewer if the pool has less than k schedules.
+	 *
+	 * @param k The number of schedules to return.
+	 * @return A List of the best schedules.
+	 */
+	List<Schedule> getBest(int k);
+
+	/**
+	 * Returns the worst schedule, or null if the pool is empty.
+	 */
+	Schedule getWorst();
+
+	/**
+	 * Removes at most "amount" of the worst schedules from the pool.
+	 *
+	 * @param amount The number of schedules to remove.
+	 */
+	void removeWorst(int amount);
+}
@@ -0,0 +1,260 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.SplittableRandom;
+
+import com.scheduler.model.Schedule;
+
+/*
+ * Decides which schedules of the pool the Genetic Algorithm uses as parents for Mutation and Crossover.
+ *
+ * Always taking the best schedules converges fast but works from only two parents, so the pool loses its
+ * diversity and the search settles on the first good local optimum. The other strategies give every schedule
+ * a chance that falls with its rank, so worse but different schedules are still explored.
+ *
+ * Parents are picked by rank (0 is the best schedule), so each pick costs one O(log n) lookup in the pool.
+ */
+public final class Selection {
+
+    private enum Kind { BEST, TOURNAMENT, RANK, SUS }
+
+    /*
+     * The strategy used unless another one is set.
+     */
+    public static final Selection DEFAULT = tournament(3);
+
+    private final Kind kind;
+
+    /*
+     * The number of schedules in each tournament (TOURNAMENT).
+     */
+    private final int tournamentSize;
+
+    /*
+     * The selection pressure of linear ranking, from 1 (every rank equally likely) to 2 (the best schedule
+     * twice as likely as average and the worst never picked) (RANK and SUS).
+     */
+    private final double pressure;
+
+    private Selection(Kind kind, int tournamentSize, double pressure) {
+        this.kind = kind;
+        this.tournamentSize = tournamentSize;
+        this.pressure = pressure;
+    }
+
+    /*
+     * Always pick the best schedules: the best as the first parent and the second best as the second.
+     */
+    public static Selection best() {
+        return new Selection(Kind.BEST, 0, 0);
+    }
+
+    /*
+     * Pick each parent as the best of k schedules drawn uniformly from the pool.
+     *
+     * @param k the tournament size, at least 1
+     */
+    public static Selection tournament(int k) {
+
+        if (k < 1) {
+            throw new IllegalArgumentException("Tournament size must be at least 1.");
+        }
+
+        return new Selection(Kind.TOURNAMENT, k, 0);
+    }
+
+    /*
+     * Pick each parent independently with a probability that falls linearly with its rank.
+     *
+     * @param pressure the selection pressure, from 1 to 2
+     */
+    public static Selection rank(double pressure) {
+        checkPressure(pressure);
+        return new Selection(Kind.RANK, 0, pressure);
+    }
+
+    /*
+     * Pick all parents of a transition at once with stochastic universal sampling over the same linear ranking
+     * as rank(pressure): one random offset and evenly spaced pointers, so the parents are spread over the ranks
+     * as evenly as their probabilities allow.
+     *
+     * @param pressure the selection pressure, from 1 to 2
+     */
+    public static Selection sus(double pressure) {
+        checkPressure(pressure);
+        return new Selection(Kind.SUS, 0, pressure);
+    }
+
+    private static void checkPressure(double pressure) {
+        if (!(pressure >= 1 && pressure <= 2)) {
+            throw new IllegalArgumentException("Selection pressure must be between 1 and 2.");
+        }
+    }
+
+    /*
+     * Parses a strategy written as "best", "tournament:<k>", "rank:<pressure>" or "sus:<pressure>".
+     */
+    public static Selection parse(String text) {
+
+        String[] parts = text.trim().toLowerCase().split(":");
+
+        switch (parts[0]) {
+            case "best":
+                if (parts.length == 1) {
+                    return best();
+                }
+                break;
+            case "tournament":
+                if (parts.length == 2) {
+                    return tournament(Integer.parseInt(parts[1]));
+                }
+                break;
+            case "rank":
+                if (parts.length == 2) {
+                    return rank(Double.parseDouble(parts[1]));
+                }
+                break;
+            case "sus":
+                if (parts.length == 2) {
+                    return sus(Double.parseDouble(parts[1]));
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw new IllegalArgumentException("Unknown selection strategy: " + text);
+    }
+
+    /*
+     * Pick the parents of one transition. When the pool has enough schedules, the parents are distinct.
+     *
+     * @param pool the pool to pick from, which must not be empty
+     * @param count the number of parents to pick
+     * @param random the random number generator to pick with
+     * @returns the parents, in the order they were picked
+     */
+    public Schedule[] select(SchedulePool pool, int count, SplittableRandom random) {
+
+        int size = pool.size();
+        int[] ranks = new int[count];
+
+        switch (kind) {
+            case BEST:
+                for (int i = 0; i < count; i++) {
+                    ranks[i] = Math.min(i, size - 1);
+                }
+                break;
+            case SUS:
+                // One random offset, then count evenly spaced pointers over the ranking's cumulative weight
+                double spacing = (double) size / count;
+                double pointer = random.nextDouble() * spacing;
+                for (int i = 0; i < count; i++) {
+                    ranks[i] = rankAt(pointer + i * spacing, size);
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    ranks[i] = draw(size, random);
+
+                    // Draw again (a few times at most) rather than use the same parent twice
+                    for (int attempt = 0; attempt < 8 && contains(ranks, i, ranks[i]) && size > i; attempt++) {
+                        ranks[i] = draw(size, random);
+                    }
+                }
+                break;
+        }
+
+        Schedule[] parents = new Schedule[count];
+        for (int i = 0; i < count; i++) {
+            parents[i] = pool.get(ranks[i]);
+        }
+
+        return parents;
+    }
+
+    /*
+     * Draw one rank independently (TOURNAMENT and RANK).
+     */
+    private int draw(int size, SplittableRandom random) {
+
+        if (kind == Kind.TOURNAMENT) {
+            int best = random.nextInt(size);
+            for (int i = 1; i < tournamentSize; i++) {
+                best = Math.min(best, random.nextInt(size));
+            }
+            return best;
+        }
+
+        return rankAt(random.nextDouble() * size, size);
+    }
+
+    /*
+     * Returns true if one of the first n ranks is the given rank.
+     */
+    private static boolean contains(int[] ranks, int n, int rank) {
+        for (int i = 0; i < n; i++) {
+            if (ranks[i] == rank) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Returns the rank whose share of the linear ranking contains a point, where the shares of all size ranks
+     * add up to size. Rank r has weight (2 - pressure) + 2 (pressure - 1) (size - 1 - r) / (size - 1), so the
+     * cumulative weight has a closed form and the rank is found by binary search in O(log n).
+     *
+     * @param point a point from 0 (inclusive) to size (exclusive)
+     * @param size the number of schedules in the pool
+     */
+    private int rankAt(double point, int size) {
+
+        if (size == 1) {
+            return 0;
+        }
+
+        int low = 0;
+        int high = size - 1;
+
+        // Find the first rank whose cumulative weight is past the point
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeight(mid, size) > point) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /*
+     * Returns the sum of the linear ranking weights of ranks 0 to r.
+     */
+    private double cumulativeWeight(int r, int size) {
+        double n = r + 1;
+        return n * (2 - pressure) + 2 * (pressure - 1) / (size - 1) * (n * (size - 1) - n * r / 2);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TOURNAMENT:
+                return "tournament:" + tournamentSize;
+            case RANK:
+                return "rank:" + pressure;
+            case SUS:
+                return "sus:" + pressure;
+            default:
+                return "best";
+        }
+    }
+}
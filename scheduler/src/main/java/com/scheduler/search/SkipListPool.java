@@ -0,0 +1,284 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.scheduler.model.Schedule;
+
+/**
+ * A SchedulePool backed by an indexable skip list.
+ *
+ * Every link stores how many schedules it skips over, so adding, looking up a schedule by rank
+ * and cutting off the worst schedules all take O(log n) expected time, however many schedules
+ * share the same fitness.
+ */
+public class SkipListPool implements SchedulePool {
+
+	/*
+	 * Maximum number of levels in the skip list (enough for millions of schedules).
+	 */
+	private static final int MAX_LEVEL = 16;
+
+	/*
+	 * A single schedule in the skip list.
+	 */
+	private static final class Node {
+
+		final Schedule schedule;
+		final int fitness;
+
+		/*
+		 * The next node at each level, or null at the end of the list.
+		 */
+		final Node[] next;
+
+		/*
+		 * The number of positions between this node and the next node at each level.
+		 */
+		final int[] width;
+
+		Node(Schedule schedule, int fitness, int levels) {
+			this.schedule = schedule;
+			this.fitness = fitness;
+			this.next = new Node[levels];
+			this.width = new int[levels];
+		}
+	}
+
+	/*
+	 * Sentinel node in front of the best schedule (at position 0).
+	 */
+	private final Node head = new Node(null, Integer.MIN_VALUE, MAX_LEVEL);
+
+	/*
+	 * Number of levels currently in use.
+	 */
+	private int level = 1;
+
+	private int size = 0;
+
+	private long fitSum = 0;
+
+	/*
+	 * Used to pick the level of each new node.
+	 */
+	private final SplittableRandom random;
+
+	/**
+	 * Creates an empty pool.
+	 * 
+	 * @param random The random number generator used to pick node levels.
+	 */
+	public SkipListPool(SplittableRandom random) {
+		this.random = random;
+		head.width[0] = 1;
+	}
+
+	/**
+	 * Creates an empty pool with an unseeded random number generator.
+	 */
+	public SkipListPool() {
+		this(new SplittableRandom());
+	}
+
+	@Override
+	public void add(Schedule schedule) {
+
+		int fitness = schedule.eval();
+
+		Node[] update = new Node[MAX_LEVEL];
+		int[] updatePosition = new int[MAX_LEVEL];
+
+		// Find the last node at each level that is at least as good as the new schedule
+		Node x = head;
+		int position = 0;
+
+		for (int l = level - 1; l >= 0; l--) {
+			while (x.next[l] != null && x.next[l].fitness <= fitness) {
+				position += x.width[l];
+				x = x.next[l];
+			}
+			update[l] = x;
+			updatePosition[l] = position;
+		}
+
+		int nodeLevel = randomLevel();
+
+		// Any new levels start out as a single link from the head to the end of the list
+		if (nodeLevel > level) {
+			for (int l = level; l < nodeLevel; l++) {
+				update[l] = head;
+				updatePosition[l] = 0;
+				head.width[l] = size + 1;
+			}
+			level = nodeLevel;
+		}
+
+		Node node = new Node(schedule, fitness, nodeLevel);
+		int nodePosition = position + 1;
+
+		for (int l = 0; l < nodeLevel; l++) {
+			node.next[l] = update[l].next[l];
+			update[l].next[l] = node;
+
+			node.width[l] = updatePosition[l] + update[l].width[l] + 1 - nodePosition;
+			update[l].width[l] = nodePosition - updatePosition[l];
+		}
+
+		// Links above the new node now skip over one more schedule
+		for (int l = nodeLevel; l < level; l++) {
+			update[l].width[l]++;
+		}
+
+		size++;
+		fitSum += fitness;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public long getFitSum() {
+		return fitSum;
+	}
+
+	@Override
+	public Schedule get(int rank) {
+		return nodeAt(rank).schedule;
+	}
+
+	@Override
+	public int getFitness(int rank) {
+		return nodeAt(rank).fitness;
+	}
+
+	@Override
+	public Schedule getBest() {
+		return size > 0 ? head.next[0].schedule : null;
+	}
+
+	@Override
+	public Schedule get2Best() {
+		return size > 1 ? head.next[0].next[0].schedule : null;
+	}
+
+	@Override
+	public List<Schedule> getBest(int k) {
+
+		List<Schedule> best = new ArrayList<>(Math.min(k, size));
+
+		for (Node x = head.next[0]; x != null && best.size() < k; x = x.next[0]) {
+			best.add(x.schedule);
+		}
+
+		return best;
+	}
+
+	@Override
+	public Schedule getWorst() {
+		return size > 0 ? nodeAt(size - 1).schedule : null;
+	}
+
+	@Override
+	public void removeWorst(int amount) {
+
+		if (amount <= 0) {
+			return;
+		}
+
+		int keep = size - amount;
+
+		if (keep <= 0) {
+			clear();
+			return;
+		}
+
+		// Cut every level after the last node at or before position "keep"
+		Node x = head;
+		int position = 0;
+		Node removed = null;
+
+		for (int l = level - 1; l >= 0; l--) {
+			while (x.next[l] != null && position + x.width[l] <= keep) {
+				position += x.width[l];
+				x = x.next[l];
+			}
+
+			if (l == 0) {
+				removed = x.next[0];
+			}
+
+			x.next[l] = null;
+			x.width[l] = keep + 1 - position;
+		}
+
+		for (; removed != null; removed = removed.next[0]) {
+			fitSum -= removed.fitness;
+		}
+
+		size = keep;
+	}
+
+	/*
+	 * Removes every schedule from the pool.
+	 */
+	private void clear() {
+
+		for (int l = 0; l < MAX_LEVEL; l++) {
+			head.next[l] = null;
+			head.width[l] = 0;
+		}
+
+		head.width[0] = 1;
+		level = 1;
+		size = 0;
+		fitSum = 0;
+	}
+
+	/*
+	 * Returns the node at the given rank.
+	 */
+	private Node nodeAt(int rank) {
+
+		if (rank < 0 || rank >= size) {
+			throw new IndexOutOfBoundsException("Rank " + rank + " is out of bounds for a pool of size " + size);
+		}
+
+		int target = rank + 1;
+
+		Node x = head;
+		int position = 0;
+
+		for (int l = level - 1; l >= 0; l--) {
+			while (x.next[l] != null && position + x.width[l] <= target) {
+				position += x.width[l];
+				x = x.next[l];
+			}
+		}
+
+		return x;
+	}
+
+	/*
+	 * Picks a level for a new node, where each level is a quarter as likely as the one below it.
+	 */
+	private int randomLevel() {
+
+		int nodeLevel = 1;
+
+		while (nodeLevel < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+			nodeLevel++;
+		}
+
+		return nodeLevel;
+	}
+}
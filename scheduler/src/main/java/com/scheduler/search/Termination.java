@@ -0,0 +1,219 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.search;
+
+/**
+ * Decides when a Genetic Algorithm search should stop.
+ *
+ * A search stops on whichever of these comes first:
+ * - the best fitness has not improved for a number of generations (the search has converged),
+ * - a wall-clock deadline has passed,
+ * - a schedule at least as good as a target eval value has been found,
+ * - a maximum number of schedules have been evaluated.
+ *
+ * The criteria are immutable and can be shared by several searches. Every search tracks its own progress in a
+ * Monitor, which keeps the best and average fitness of the most recent generations in a ring buffer.
+ */
+public final class Termination {
+
+	/**
+	 * The reason a search stopped.
+	 */
+	public enum Reason {
+		NO_IMPROVEMENT,
+		DEADLINE,
+		TARGET_REACHED,
+		MAX_EVALUATIONS
+	}
+
+	/**
+	 * The default number of generations without improvement after which a search stops.
+	 */
+	public static final int DEFAULT_STALL_GENERATIONS = 2500;
+
+	/**
+	 * The criteria used when none are given: stop once the best fitness has not improved for DEFAULT_STALL_GENERATIONS.
+	 */
+	public static final Termination DEFAULT = new Termination(DEFAULT_STALL_GENERATIONS, 0, -1, 0);
+
+	/*
+	 * Number of generations without improvement of the best fitness after which to stop, or 0 for no limit.
+	 */
+	private final int stallGenerations;
+
+	/*
+	 * Wall-clock budget in milliseconds from the start of the search, or 0 for no limit.
+	 */
+	private final long timeBudgetMillis;
+
+	/*
+	 * The eval value at or below which to stop, or -1 for none.
+	 */
+	private final int targetEval;
+
+	/*
+	 * Maximum number of schedules to evaluate, or 0 for no limit.
+	 */
+	private final long maxEvaluations;
+
+	/**
+	 * Creates termination criteria.
+	 *
+	 * @param stallGenerations The number of generations without improvement after which to stop, or 0 for no limit.
+	 * @param timeBudgetMillis The wall-clock budget in milliseconds, or 0 for no limit.
+	 * @param targetEval The eval value at or below which to stop, or -1 for none.
+	 * @param maxEvaluations The maximum number of schedules to evaluate, or 0 for no limit.
+	 */
+	public Termination(int stallGenerations, long timeBudgetMillis, int targetEval, long maxEvaluations) {
+
+		if (stallGenerations < 0 || timeBudgetMillis < 0 || targetEval < -1 || maxEvaluations < 0) {
+			throw new IllegalArgumentException("Termination limits must not be negative.");
+		}
+
+		this.stallGenerations = stallGenerations;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.targetEval = targetEval;
+		this.maxEvaluations = maxEvaluations;
+	}
+
+	/**
+	 * Starts tracking a search against these criteria. The wall-clock budget runs from now.
+	 *
+	 * @return A new Monitor for a single search.
+	 */
+	public Monitor start() {
+		return new Monitor();
+	}
+
+	public int getStallGenerations() {
+		return stallGenerations;
+	}
+
+	public long getTimeBudgetMillis() {
+		return timeBudgetMillis;
+	}
+
+	public int getTargetEval() {
+		return targetEval;
+	}
+
+	public long getMaxEvaluations() {
+		return maxEvaluations;
+	}
+
+	/**
+	 * Tracks the progress of one search. Not thread-safe: each search has its own.
+	 */
+	public final class Monitor {
+
+		/*
+		 * The wall-clock time (in milliseconds) at which to stop, or Long.MAX_VALUE for none.
+		 */
+		private final long deadline;
+
+		/*
+		 * Ring buffers of the best and average fitness of the most recent generations. The entry of generation g
+		 * is at index g % capacity, and only the last capacity generations are kept.
+		 */
+		private final int[] bestHistory;
+		private final long[] averageHistory;
+
+		/*
+		 * The number of generations recorded so far.
+		 */
+		private long generations = 0;
+
+		/*
+		 * The reason the search should stop, or null while it should go on.
+		 */
+		private Reason reason = null;
+
+		private Monitor() {
+
+			this.deadline = timeBudgetMillis > 0 ? System.currentTimeMillis() + timeBudgetMillis : Long.MAX_VALUE;
+
+			// Comparing against the best fitness stallGenerations ago needs one more entry than the window
+			int capacity = Math.max(2, stallGenerations + 1);
+			this.bestHistory = new int[capacity];
+			this.averageHistory = new long[capacity];
+		}
+
+		/**
+		 * Records the state of the pool after a generation and checks every criterion.
+		 *
+		 * @param best The eval value of the best schedule in the pool.
+		 * @param average The average eval value of the schedules in the pool.
+		 * @param evaluations The number of schedules evaluated so far.
+		 * @return The reason to stop, or null if the search should go on.
+		 */
+		public Reason record(int best, long average, long evaluations) {
+
+			int index = (int) (generations % bestHistory.length);
+			bestHistory[index] = best;
+			averageHistory[index] = average;
+			generations++;
+
+			if (targetEval >= 0 && best <= targetEval) {
+				reason = Reason.TARGET_REACHED;
+			} else if (maxEvaluations > 0 && evaluations >= maxEvaluations) {
+				reason = Reason.MAX_EVALUATIONS;
+			} else if (stallGenerations > 0 && generations > stallGenerations && best >= getBest(stallGenerations)) {
+				reason = Reason.NO_IMPROVEMENT;
+			} else if (System.currentTimeMillis() >= deadline) {
+				reason = Reason.DEADLINE;
+			}
+
+			return reason;
+		}
+
+		/**
+		 * Returns the reason the search should stop, or null while it should go on.
+		 */
+		public Reason getReason() {
+			return reason;
+		}
+
+		/**
+		 * Returns the number of generations recorded so far.
+		 */
+		public long getGenerations() {
+			return generations;
+		}
+
+		/**
+		 * Returns the best fitness recorded a number of generations ago.
+		 *
+		 * @param generationsAgo 0 for the latest generation, up to the size of the ring buffer minus one.
+		 * @return The eval value of the best schedule in the pool at that generation.
+		 */
+		public int getBest(int generationsAgo) {
+			return bestHistory[historyIndex(generationsAgo)];
+		}
+
+		/**
+		 * Returns the average fitness recorded a number of generations ago.
+		 *
+		 * @param generationsAgo 0 for the latest generation, up to the size of the ring buffer minus one.
+		 * @return The average eval value of the pool at that generation.
+		 */
+		public long getAverage(int generationsAgo) {
+			return averageHistory[historyIndex(generationsAgo)];
+		}
+
+		/**
+		 * Returns the ring buffer index of the generation recorded a number of generations ago.
+		 */
+		private int historyIndex(int generationsAgo) {
+
+			if (generationsAgo < 0 || generationsAgo >= Math.min(generations, bestHistory.length)) {
+				throw new IndexOutOfBoundsException("No fitness recorded " + generationsAgo + " generations ago.");
+			}
+
+			return (int) ((generations - 1 - generationsAgo) % bestHistory.length);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * JDK Flight Recorder event for one generation (step) of a Genetic Algorithm, committed with the state of the pool
+ * after it. Its duration is the time the generation took.
+ */
+@Name("com.scheduler.Generation")
+@Label("Generation")
+@Category({"Scheduler", "Genetic Algorithm"})
+@Description("One step of a Genetic Algorithm search")
+public class GenerationEvent extends Event {
+
+    @Label("Generation")
+    public long generation;
+
+    @Label("Transition")
+    @Description("The transition applied: Rand, Mutation, Crossover or Overflow")
+    public String transition;
+
+    @Label("Pool Size")
+    public int poolSize;
+
+    @Label("Best Eval")
+    public int best;
+
+    @Label("Average Eval")
+    public long average;
+
+    @Label("Worst Eval")
+    public int worst;
+
+    @Label("Evaluations")
+    @Description("The number of schedules generated and evaluated so far")
+    public long evaluations;
+}
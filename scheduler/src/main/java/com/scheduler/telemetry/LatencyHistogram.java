@@ -0,0 +1,99 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A thread-safe histogram of latencies, with one bucket per power of two nanoseconds.
+ *
+ * Recording a latency is a few atomic adds, so it can be called on every transition of a running search.
+ * Percentiles are read from the buckets, so they are accurate to within a factor of two.
+ */
+public final class LatencyHistogram {
+
+    /*
+     * Bucket i counts the latencies of 2^(i-1) up to 2^i - 1 nanoseconds (bucket 0 counts 0).
+     */
+    private final LongAdder[] buckets = new LongAdder[64];
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /*
+     * Record one latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+
+        nanos = Math.max(0, nanos);
+
+        buckets[64 - Long.numberOfLeadingZeros(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /*
+     * Get the number of latencies recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /*
+     * Get the mean latency in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalNanos.sum() / n;
+    }
+
+    /*
+     * Get the largest latency recorded, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /*
+     * Get an upper bound on a percentile of the latencies, in nanoseconds: the top of the bucket the percentile falls in
+     * (but never more than the largest latency recorded).
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @returns the latency, or 0 if nothing has been recorded
+     */
+    public long getPercentileNanos(double percentile) {
+
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(n * percentile / 100));
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                long top = i == 0 ? 0 : i == 63 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(top, getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.telemetry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * An in-process registry of the counters, gauges and latency histograms of a search.
+ *
+ * Metrics are created on first use and looked up by name, so any part of the search can report to the registry
+ * it is given. Every metric is thread-safe, so one registry can be shared by the islands of an island model and
+ * the threads that fill a pool. Callers on hot paths should look a metric up once and keep it.
+ *
+ * The registry also remembers when it was created, so rates (such as generations per second) can be worked out
+ * when the summary is written.
+ */
+public final class Metrics {
+
+    // Names of the metrics reported by the search
+
+    public static final String GENERATIONS = "ga.generations";
+    public static final String EVALUATIONS = "ga.evaluations";
+    public static final String POOL_BEST = "pool.best";
+    public static final String POOL_AVERAGE = "pool.average";
+    public static final String POOL_WORST = "pool.worst";
+    public static final String POOL_SIZE = "pool.size";
+    public static final String ORTREE_SEARCHES = "ortree.searches";
+    public static final String ORTREE_NODES = "ortree.nodes";
+    public static final String ORTREE_BACKTRACKS = "ortree.backtracks";
+    public static final String CANDIDATE_EVALUATIONS = "ortree.candidateEvaluations";
+    public static final String CROSSOVER_FALLBACKS = "crossover.fallbacks";
+    public static final String LOCAL_SEARCH_STEPS = "localSearch.steps";
+    public static final String LOCAL_SEARCH_ACCEPTED = "localSearch.accepted";
+    public static final String LATENCY_RAND = "transition.Rand";
+    public static final String LATENCY_MUTATION = "transition.Mutation";
+    public static final String LATENCY_CROSSOVER = "transition.Crossover";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /*
+     * The time the registry was created, for working out rates.
+     */
+    private final long startNanos = System.nanoTime();
+
+    /*
+     * Get a counter, creating it if it doesn't exist yet.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /*
+     * Get a gauge (the latest value of something), creating it if it doesn't exist yet.
+     */
+    public AtomicLong gauge(String name) {
+        return gauges.computeIfAbsent(name, key -> new AtomicLong());
+    }
+
+    /*
+     * Get a latency histogram, creating it if it doesn't exist yet.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /*
+     * Get the number of seconds since the registry was created.
+     */
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    /*
+     * Write a summary of every metric as a JSON object. Counters are also given as a rate per second,
+     * and histograms as their count, mean, percentiles and maximum in microseconds.
+     *
+     * @param out the writer to write the JSON to
+     */
+    public void writeJson(Writer out) throws IOException {
+
+        double seconds = getElapsedSeconds();
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"elapsedSeconds\": ").append(number(seconds)).append(",\n");
+
+        json.append("  \"counters\": {");
+        String separator = "\n";
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet()) {
+            long value = counter.getValue().sum();
+            json.append(separator).append("    ").append(string(counter.getKey())).append(": {\"total\": ").append(value)
+                .append(", \"perSecond\": ").append(number(seconds > 0 ? value / seconds : 0)).append("}");
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "},\n" : "\n  },\n");
+
+        json.append("  \"gauges\": {");
+        separator = "\n";
+        for (Map.Entry<String, AtomicLong> gauge : new TreeMap<>(gauges).entrySet()) {
+            json.append(separator).append("    ").append(string(gauge.getKey())).append(": ").append(gauge.getValue().get());
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "},\n" : "\n  },\n");
+
+        json.append("  \"latencyMicros\": {");
+        separator = "\n";
+        for (Map.Entry<String, LatencyHistogram> histogram : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = histogram.getValue();
+            json.append(separator).append("    ").append(string(histogram.getKey())).append(": {")
+                .append("\"count\": ").append(h.getCount())
+                .append(", \"mean\": ").append(number(h.getMeanNanos() / 1e3))
+                .append(", \"p50\": ").append(number(h.getPercentileNanos(50) / 1e3))
+                .append(", \"p90\": ").append(number(h.getPercentileNanos(90) / 1e3))
+                .append(", \"p99\": ").append(number(h.getPercentileNanos(99) / 1e3))
+                .append(", \"max\": ").append(number(h.getMaxNanos() / 1e3))
+                .append("}");
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "}\n" : "\n  }\n");
+
+        json.append("}\n");
+
+        out.write(json.toString());
+    }
+
+    /*
+     * Format a number for JSON, rounded to three decimals.
+     */
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /*
+     * Quote a metric name for JSON. Metric names are plain identifiers, so only quotes and backslashes are escaped.
+     */
+    private static String string(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
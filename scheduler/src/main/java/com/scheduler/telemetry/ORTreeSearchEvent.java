@@ -0,0 +1,43 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * JDK Flight Recorder event for one ORTree search. Its duration is the time the search took.
+ */
+@Name("com.scheduler.ORTreeSearch")
+@Label("ORTree Search")
+@Category({"Scheduler", "ORTree"})
+@Description("One ORTree search for a complete and valid schedule")
+public class ORTreeSearchEvent extends Event {
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Nodes")
+    @Description("The number of assignments made")
+    public long nodes;
+
+    @Label("Backtracks")
+    public long backtracks;
+
+    @Label("Candidate Evaluations")
+    @Description("The number of times an event was checked against a candidate slot")
+    public long candidateEvaluations;
+
+    @Label("Restarts")
+    public int restarts;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,29 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.telemetry;
+
+import jdk.jfr.FlightRecorder;
+
+/*
+ * Tells whether JDK Flight Recorder events are worth creating.
+ *
+ * Creating the first event of any kind sets up the flight recorder's event machinery, which takes a noticeable part
+ * of a second, so a run that isn't being recorded should never create one. The flight recorder is only initialized
+ * once a recording has been started (with -XX:StartFlightRecording or later with jcmd), so checking it is enough.
+ */
+public final class Recording {
+
+    private Recording() {
+    }
+
+    /*
+     * Returns true if the flight recorder has been started, so events should be created.
+     */
+    public static boolean isActive() {
+        return FlightRecorder.isInitialized();
+    }
+}
@@ -0,0 +1,31 @@
+/*
+*    Team Smoliv
+*    Cole Briggs, Chris Axten, Erioluwa Soyemi, Grace Kelly Osena
+*    CPSC 433 F24
+*/
+
+package com.scheduler.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * JDK Flight Recorder event for one transition of a Genetic Algorithm that builds a schedule: a random schedule (Rand),
+ * a Mutation or a Crossover. Its duration is the time the transition took, including the ORTree search.
+ */
+@Name("com.scheduler.Transition")
+@Label("Transition")
+@Category({"Scheduler", "Genetic Algorithm"})
+@Description("A Genetic Algorithm transition that builds one schedule")
+public class TransitionEvent extends Event {
+
+    @Label("Transition")
+    public String transition;
+
+    @Label("Eval")
+    @Description("The eval value of the schedule built, or -1 if none could be built")
+    public int eval = -1;
+}
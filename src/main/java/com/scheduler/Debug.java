@@ -1,25 +0,0 @@
-package com.scheduler;
-
-public class Debug {
-
-    public static void msg(String message) {
-        // System.err.println("DEBUG: " + message);
-    }
-
-    public static void msg2(String message) {
-        // System.err.println("DEBUG: " + message);
-    }
-
-    public static void msg3(String message) {
-        // System.err.println("DEBUG: " + message);
-    }
-
-    public static void msg4(String message) {
-        // System.err.println("DEBUG: " + message);
-    }
-
-    public static void msg5(String message) {
-        // System.err.println("DEBUG: " + message);
-    }
-    
-}